@@ -0,0 +1,38 @@
+package benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+
+	/**
+	 * Runs the benchmarks selected by the JMH command line arguments, such as a regular 
+	 * expression of benchmark names, or -p size=256 to pick parameters. The gc profiler is 
+	 * always added, so every benchmark reports its allocation rate next to its ops/s.
+	 * @param args JMH command line arguments, -h lists them
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException,
+			IOException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		if (options.shouldHelp()) {
+			options.showHelp();
+			return;
+		}
+		Runner runner = new Runner(new OptionsBuilder()
+				.parent(options)
+				.addProfiler(GCProfiler.class)
+				.build());
+		if (options.shouldList()) {
+			runner.list();
+			return;
+		}
+		runner.run();
+	}
+
+}
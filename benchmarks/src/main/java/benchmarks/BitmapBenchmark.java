@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datatypes.Maze;
+import mazeExport.MazeRasterizer;
+import mazeGenerator.MazeDrawer;
+import mazeGenerator.MazeGen;
+import mazeGenerator.MazeGenFactory;
+import program.MazeType;
+
+/**
+ * Turning a maze into pixels: the whole int[][] bitmap of MazeDrawer.generateBitmap against
+ * the row by row MazeRasterizer used by the exporters and the canvas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitmapBenchmark {
+
+	@Param({"64", "256", "1024"})
+	public int size;
+
+	private Maze maze;
+	private byte[] row;
+
+	@Setup
+	public void setup() throws InterruptedException {
+		MazeGen gen = MazeGenFactory.create(MazeType.DFS, size, size, null, 8855, false, 0);
+		gen.generate(null);
+		maze = gen.getMaze();
+		row = new byte[2 * size + 1];
+	}
+
+	@Benchmark
+	public int[][] generateBitmap() {
+		return MazeDrawer.generateBitmap(maze);
+	}
+
+	@Benchmark
+	public int rasterRows() {
+		MazeRasterizer rasterizer = new MazeRasterizer(maze);
+		int sum = 0;
+		for (int y = 0; y < rasterizer.getHeight(); y++) {
+			rasterizer.rasterRow(y, row);
+			sum += row[y % row.length];
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,151 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datatypes.Node;
+import datatypes.NodeCollection;
+import datatypes.NodeGrid;
+import datatypes.Wall;
+import datatypes.WallCollection;
+import datatypes.WallFrontier;
+import datatypes.WallGrid;
+
+/**
+ * The object based wall and node collections against the packed grids which replaced them.
+ * Every benchmark adds, looks up and removes every wall or node of a maze of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionsBenchmark {
+
+	@Param({"16", "64"})
+	public int size;
+
+	private Wall[] walls;
+	private Node[] nodes;
+
+	@Setup
+	public void setup() {
+		walls = new Wall[2 * size * (size - 1)];
+		nodes = new Node[size * size];
+		int i = 0;
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				nodes[y * size + x] = new Node(x, y);
+				if (x < size - 1) {
+					walls[i++] = new Wall(new Node(x, y), new Node(x + 1, y));
+				}
+				if (y < size - 1) {
+					walls[i++] = new Wall(new Node(x, y), new Node(x, y + 1));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public int wallCollection() {
+		WallCollection collection = new WallCollection();
+		for (Wall wall : walls) {
+			collection.add(wall);
+		}
+		int found = 0;
+		for (Wall wall : walls) {
+			if (collection.contains(wall)) {
+				found++;
+			}
+		}
+		for (Wall wall : walls) {
+			collection.remove(wall);
+		}
+		return found + collection.size();
+	}
+
+	@Benchmark
+	public int wallGrid() {
+		WallGrid grid = new WallGrid(size, size);
+		for (Wall wall : walls) {
+			grid.add(wall);
+		}
+		int found = 0;
+		for (Wall wall : walls) {
+			if (grid.contains(wall)) {
+				found++;
+			}
+		}
+		for (Wall wall : walls) {
+			grid.remove(wall);
+		}
+		return found + (int) grid.size();
+	}
+
+	@Benchmark
+	public int wallFrontier() {
+		// The frontier of Prim's algorithm: every wall id added, then removed at random
+		WallFrontier frontier = new WallFrontier(size * size);
+		for (int cell = 0; cell < size * size; cell++) {
+			if (cell % size < size - 1) {
+				frontier.add(2 * cell);
+			}
+			if (cell < size * (size - 1)) {
+				frontier.add(2 * cell + 1);
+			}
+		}
+		Random rnd = new Random(8855);
+		int sum = 0;
+		while (!frontier.isEmpty()) {
+			sum += frontier.removeRandom(rnd);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int nodeCollection() {
+		NodeCollection collection = new NodeCollection();
+		for (Node node : nodes) {
+			collection.add(node);
+		}
+		for (Node node : nodes) {
+			collection.setNodeValue(node, 1);
+		}
+		int sum = 0;
+		for (Node node : nodes) {
+			sum += collection.getNodeValue(node);
+		}
+		for (Node node : nodes) {
+			collection.remove(node);
+		}
+		return sum + collection.size();
+	}
+
+	@Benchmark
+	public int nodeGrid() {
+		NodeGrid grid = new NodeGrid(size, size);
+		for (Node node : nodes) {
+			grid.setValue(node.getX(), node.getY(), 1);
+		}
+		int sum = 0;
+		for (Node node : nodes) {
+			sum += grid.getValue(node.getX(), node.getY());
+		}
+		grid.fill(0);
+		return sum;
+	}
+
+}
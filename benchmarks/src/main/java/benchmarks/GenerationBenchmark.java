@@ -0,0 +1,47 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datatypes.Maze;
+import mazeGenerator.MazeGen;
+import mazeGenerator.MazeGenFactory;
+import program.MazeType;
+
+/**
+ * Generation of a whole maze without animation, the way the GUI and the headless mode do it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+	private static final long SEED = 8855;
+
+	@Param({"DFS", "PRIM"})
+	public MazeType type;
+
+	@Param({"64", "256", "1024"})
+	public int size;
+
+	@Benchmark
+	public Maze generate() throws InterruptedException {
+		MazeGen gen = MazeGenFactory.create(type, size, size, null, SEED, false, 0);
+		gen.generate(null);
+		return gen.getMaze();
+	}
+
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import datatypes.Maze;
+import mazeGenerator.MazeDrawerCanvas;
+import mazeGenerator.MazeGen;
+import mazeGenerator.MazeGenFactory;
+import program.MazeType;
+
+/**
+ * Painting the maze canvas into an image without a screen, with the whole maze in view.
+ * The cached benchmark repaints with the tiles already drawn, as when the window is exposed,
+ * while the cold benchmark sets the maze again first, as after a new maze is generated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+
+	private static final int CANVAS_SIZE = 800;
+
+	@Param({"256", "1024", "4096"})
+	public int size;
+
+	private Maze maze;
+	private MazeDrawerCanvas canvas;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setup() throws InterruptedException {
+		MazeGen gen = MazeGenFactory.create(MazeType.DFS, size, size, null, 8855, false, 0);
+		gen.generate(null);
+		maze = gen.getMaze();
+		canvas = new MazeDrawerCanvas((double) CANVAS_SIZE / (2 * size + 1));
+		canvas.setSize(CANVAS_SIZE, CANVAS_SIZE);
+		canvas.setMaze(maze);
+		image = new BufferedImage(CANVAS_SIZE, CANVAS_SIZE, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+		graphics.setClip(0, 0, CANVAS_SIZE, CANVAS_SIZE);
+	}
+
+	@Benchmark
+	public BufferedImage paintCached() {
+		canvas.paintMaze(graphics);
+		return image;
+	}
+
+	@Benchmark
+	public BufferedImage paintCold() {
+		canvas.setMaze(maze);
+		canvas.paintMaze(graphics);
+		return image;
+	}
+
+}
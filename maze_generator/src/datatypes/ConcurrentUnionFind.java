@@ -0,0 +1,101 @@
+package datatypes;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ConcurrentUnionFind {
+
+	private final AtomicIntegerArray parent;
+
+	/**
+	 * Constructs a union-find over the elements 0 to size-1, each in a set of its own. The
+	 * parent of every element is kept in an AtomicIntegerArray and only changed with
+	 * compare-and-set, so any number of threads can call find, sameSet and union at the same
+	 * time without locking.
+	 * @param size number of elements
+	 */
+	public ConcurrentUnionFind(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Size must be positive, got " + size);
+		}
+		this.parent = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; i++) {
+			parent.set(i, i);
+		}
+	}
+
+	/**
+	 * Finds the root of the set containing the given element. The path is halved on the way
+	 * up, so later calls are faster.
+	 * @param x element
+	 * @return root element of the set
+	 */
+	public int find(int x) {
+		while (true) {
+			int p = parent.get(x);
+			if (p == x) {
+				return x;
+			}
+			int grandparent = parent.get(p);
+			if (grandparent != p) {
+				// Another thread may have changed the parent already, then this does nothing
+				parent.compareAndSet(x, p, grandparent);
+			}
+			x = grandparent;
+		}
+	}
+
+	/**
+	 * Checks whether the two elements are in the same set.
+	 * @param a element
+	 * @param b element
+	 * @return true if the elements are in the same set
+	 */
+	public boolean sameSet(int a, int b) {
+		while (true) {
+			a = find(a);
+			b = find(b);
+			if (a == b) {
+				return true;
+			}
+			// a is still a root, so the sets were apart when b was found
+			if (parent.get(a) == a) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Joins the sets containing the two elements.
+	 * @param a element
+	 * @param b element
+	 * @return true if the elements were in different sets before the call
+	 */
+	public boolean union(int a, int b) {
+		while (true) {
+			a = find(a);
+			b = find(b);
+			if (a == b) {
+				return false;
+			}
+			// Link by a fixed pseudo-random priority, which keeps the trees shallow and can
+			// never form a cycle. Multiplying by an odd number never maps two elements together
+			if (a * 0x9E3779B9 > b * 0x9E3779B9) {
+				int tmp = a;
+				a = b;
+				b = tmp;
+			}
+			if (parent.compareAndSet(a, a, b)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of elements.
+	 * @return int amount of elements
+	 */
+	public int size() {
+		return parent.length();
+	}
+
+}
@@ -0,0 +1,139 @@
+package datatypes;
+
+import java.util.Arrays;
+
+public class HeapWallStore implements WallStore {
+
+	private final int width, height;
+	private final long[][] planes;
+	private final long cells;
+	private long wallCount;
+
+	/**
+	 * Constructs an empty wall store on the heap for a maze of the given width and height.
+	 * Each plane is a packed bitset with one bit per cell.
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 */
+	public HeapWallStore(int width, int height) {
+		this.cells = (long) width * height;
+		long words = (cells + 63) >>> 6;
+		if (width < 1 || height < 1 || words > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Invalid wall store dimensions, got width: " + width
+					+ " height: " + height);
+		}
+		this.width = width;
+		this.height = height;
+		this.planes = new long[2][(int) words];
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public boolean hasWall(int plane, long cell) {
+		return (planes[plane][(int) (cell >>> 6)] & (1L << cell)) != 0;
+	}
+
+	@Override
+	public int openSides(long cell) {
+		// Solvers call this once for every cell. The walls of a maze are random, so the bits
+		// are shifted into place instead of branched on, only the border checks are branches
+		int i = (int) cell;
+		int x = i % width;
+		long[] east = planes[EAST];
+		long[] south = planes[SOUTH];
+		int open = 0;
+		if (x > 0) {
+			open |= (int) (~east[(i - 1) >>> 6] >>> (i - 1)) & 1;
+		}
+		if (x < width - 1) {
+			open |= ((int) (~east[i >>> 6] >>> i) & 1) << 1;
+		}
+		if (i >= width) {
+			open |= ((int) (~south[(i - width) >>> 6] >>> (i - width)) & 1) << 2;
+		}
+		if (i < cells - width) {
+			open |= ((int) (~south[i >>> 6] >>> i) & 1) << 3;
+		}
+		return open;
+	}
+
+	@Override
+	public boolean addWall(int plane, long cell) {
+		long[] bits = planes[plane];
+		int i = (int) (cell >>> 6);
+		long mask = 1L << cell;
+		if ((bits[i] & mask) != 0) {
+			return false;
+		}
+		bits[i] |= mask;
+		wallCount++;
+		return true;
+	}
+
+	@Override
+	public boolean removeWall(int plane, long cell) {
+		long[] bits = planes[plane];
+		int i = (int) (cell >>> 6);
+		long mask = 1L << cell;
+		if ((bits[i] & mask) == 0) {
+			return false;
+		}
+		bits[i] &= ~mask;
+		wallCount--;
+		return true;
+	}
+
+	@Override
+	public void clearWall(int plane, long cell) {
+		planes[plane][(int) (cell >>> 6)] &= ~(1L << cell);
+	}
+
+	@Override
+	public long recountWalls() {
+		long count = 0;
+		for (long[] bits : planes) {
+			for (long word : bits) {
+				count += Long.bitCount(word);
+			}
+		}
+		wallCount = count;
+		return count;
+	}
+
+	@Override
+	public void fill() {
+		for (long[] bits : planes) {
+			Arrays.fill(bits, -1L);
+			// Clear the unused bits after the last cell in the final word
+			if ((cells & 63) != 0) {
+				bits[bits.length-1] &= (1L << cells) - 1;
+			}
+		}
+		wallCount = 2 * cells;
+	}
+
+	@Override
+	public long getWallCount() {
+		return wallCount;
+	}
+
+	@Override
+	public void flush() {
+		// Nothing to write, the walls only live on the heap
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release
+	}
+
+}
@@ -0,0 +1,101 @@
+package datatypes;
+
+import java.util.NoSuchElementException;
+
+public class IntQueue {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] elements;
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * Constructs an empty first-in first-out queue of ints. The elements are kept in a ring
+	 * buffer which doubles in size when it is full, so the memory used follows the largest
+	 * number of elements in the queue at once rather than the number of elements ever added.
+	 */
+	public IntQueue() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty queue with room for the given number of elements before it has to
+	 * grow.
+	 * @param capacity initial number of elements the queue can hold
+	 */
+	public IntQueue(int capacity) {
+		elements = new int[Math.max(MIN_CAPACITY, capacity)];
+	}
+
+	/**
+	 * Adds an element to the back of the queue.
+	 * @param value to add
+	 */
+	public void add(int value) {
+		if (size == elements.length) {
+			grow();
+		}
+		int tail = head + size;
+		if (tail >= elements.length) {
+			tail -= elements.length;
+		}
+		elements[tail] = value;
+		size++;
+	}
+
+	/**
+	 * Removes the element at the front of the queue.
+	 * @return the element which has been in the queue the longest
+	 */
+	public int remove() {
+		if (size == 0) {
+			throw new NoSuchElementException("Queue is empty");
+		}
+		int value = elements[head];
+		head++;
+		if (head == elements.length) {
+			head = 0;
+		}
+		size--;
+		return value;
+	}
+
+	/**
+	 * Returns the number of elements in the queue.
+	 * @return int amount of elements in the queue
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the queue is empty.
+	 * @return true if there are no elements in the queue
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes every element from the queue, keeping its capacity.
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	private void grow() {
+		if (elements.length > Integer.MAX_VALUE / 2) {
+			throw new IllegalStateException("Queue cannot grow beyond " + elements.length
+					+ " elements");
+		}
+		int[] grown = new int[2 * elements.length];
+		int first = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, first);
+		System.arraycopy(elements, 0, grown, first, head);
+		elements = grown;
+		head = 0;
+	}
+
+}
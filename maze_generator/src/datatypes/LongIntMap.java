@@ -0,0 +1,241 @@
+package datatypes;
+
+import java.util.Arrays;
+
+public class LongIntMap {
+
+	/** Key marking an unused slot in the key array. The key itself is stored on the side */
+	private static final long FREE = Long.MIN_VALUE;
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private boolean hasFreeKey;
+	private int freeKeyValue;
+
+	/**
+	 * Receives the entries of the map one by one.
+	 */
+	public interface EntryConsumer {
+		void accept(long key, int value);
+	}
+
+	/**
+	 * Constructs an empty map from long keys to int values. Entries are kept in two primitive
+	 * arrays using open addressing with linear probing, so no objects are created per entry and
+	 * the memory used is proportional to the number of entries.
+	 */
+	public LongIntMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty map with room for the given number of entries before it has to grow.
+	 * @param expectedSize number of entries expected in the map
+	 */
+	public LongIntMap(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Returns the value stored for the given key.
+	 * @param key to look up
+	 * @param defaultValue returned if the key is not in the map
+	 * @return the value for the key, or defaultValue if the key is not in the map
+	 */
+	public int get(long key, int defaultValue) {
+		if (key == FREE) {
+			return hasFreeKey ? freeKeyValue : defaultValue;
+		}
+		int mask = keys.length - 1;
+		for (int i = slot(key, mask); keys[i] != FREE; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return values[i];
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Checks whether the given key is in the map.
+	 * @param key to look up
+	 * @return true if the map holds a value for the key
+	 */
+	public boolean containsKey(long key) {
+		if (key == FREE) {
+			return hasFreeKey;
+		}
+		int mask = keys.length - 1;
+		for (int i = slot(key, mask); keys[i] != FREE; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stores the value for the given key, replacing any earlier value.
+	 * @param key to store the value for
+	 * @param value to store
+	 * @return true if the key was not in the map before
+	 */
+	public boolean put(long key, int value) {
+		if (key == FREE) {
+			boolean added = !hasFreeKey;
+			if (added) {
+				size++;
+			}
+			hasFreeKey = true;
+			freeKeyValue = value;
+			return added;
+		}
+		int mask = keys.length - 1;
+		int i = slot(key, mask);
+		while (keys[i] != FREE) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		// Keep the load factor at most one half
+		if (2 * size > keys.length) {
+			rehash(keys.length * 2);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the given key from the map.
+	 * @param key to remove
+	 * @return true if the key was in the map
+	 */
+	public boolean remove(long key) {
+		if (key == FREE) {
+			boolean removed = hasFreeKey;
+			if (removed) {
+				size--;
+			}
+			hasFreeKey = false;
+			return removed;
+		}
+		int mask = keys.length - 1;
+		int i = slot(key, mask);
+		while (keys[i] != key) {
+			if (keys[i] == FREE) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		// Shift later entries of the probe sequence back, so no entry ends up behind a free slot
+		int free = i;
+		for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+			int home = slot(keys[j], mask);
+			if (((j - home) & mask) >= ((j - free) & mask)) {
+				keys[free] = keys[j];
+				values[free] = values[j];
+				free = j;
+			}
+		}
+		keys[free] = FREE;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Passes every entry of the map to the given consumer, in no particular order.
+	 * @param consumer receiving the keys and values
+	 */
+	public void forEach(EntryConsumer consumer) {
+		if (hasFreeKey) {
+			consumer.accept(FREE, freeKeyValue);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != FREE) {
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of entries in the map.
+	 * @return int amount of keys in the map
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the map is empty.
+	 * @return true if there are no entries in the map
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes every entry from the map and shrinks it back to its minimum capacity.
+	 */
+	public void clear() {
+		allocate(MIN_CAPACITY);
+		size = 0;
+		hasFreeKey = false;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, FREE);
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != FREE) {
+				int i = slot(oldKeys[j], mask);
+				while (keys[i] != FREE) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+	/**
+	 * Scrambles the key so that neighbouring cells do not cluster in the table
+	 */
+	private static int slot(long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder outString = new StringBuilder("{");
+		forEach(new EntryConsumer() {
+			@Override
+			public void accept(long key, int value) {
+				outString.append(key).append('=').append(value).append(", ");
+			}
+		});
+		if (size > 0) {
+			outString.setLength(outString.length()-2);
+		}
+		outString.append("}");
+		return outString.toString();
+	}
+
+}
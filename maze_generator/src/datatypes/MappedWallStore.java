@@ -0,0 +1,337 @@
+package datatypes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Wall store kept in a memory-mapped file, such that mazes larger than the heap can be built
+ * and the walls can be opened again later without regenerating the maze.
+ * <p>
+ * The file starts with a header of HEADER_SIZE bytes:
+ * <ul>
+ *  <li>0: magic number, the characters "MAZE"</li>
+ *  <li>4: format version</li>
+ *  <li>8: width in nodes</li>
+ *  <li>12: height in nodes</li>
+ *  <li>16: number of walls, as a long</li>
+ *  <li>24: seed the maze was generated with, as a long, 0 if unknown (version 2)</li>
+ *  <li>32: name of the maze type in ASCII, padded with zeros to 32 bytes (version 2)</li>
+ * </ul>
+ * Version 1 files, which have no seed and type, can still be opened. After the header 
+ * follow 2 bits per cell in row-major order, the east wall in bit 2*cell and the south wall
+ * in bit 2*cell+1, counting bits from the least significant bit of each byte.
+ */
+public class MappedWallStore implements WallStore {
+
+	public static final int MAGIC = 0x4D415A45;
+	public static final int VERSION = 2;
+	public static final int HEADER_SIZE = 64;
+	public static final int SEED_OFFSET = 24;
+	public static final int TYPE_OFFSET = 32;
+	public static final int TYPE_LENGTH = 32;
+	// Every mapped chunk but the last one spans 2^CHUNK_BITS bytes
+	private static final int CHUNK_BITS = 30;
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer header;
+	private final MappedByteBuffer[] chunks;
+	private final boolean readOnly;
+	private final int width, height;
+	private final long cells;
+	private long wallCount;
+
+	private MappedWallStore(FileChannel channel, boolean readOnly, int width, int height)
+			throws IOException {
+		this.channel = channel;
+		this.readOnly = readOnly;
+		this.width = width;
+		this.height = height;
+		this.cells = (long) width * height;
+		MapMode mode = readOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE;
+		this.header = channel.map(mode, 0, HEADER_SIZE);
+		long dataBytes = dataBytes(cells);
+		int chunkCount = (int) ((dataBytes + CHUNK_MASK) >>> CHUNK_BITS);
+		this.chunks = new MappedByteBuffer[chunkCount];
+		for (int i = 0; i < chunkCount; i++) {
+			long offset = (long) i << CHUNK_BITS;
+			long length = Math.min(1L << CHUNK_BITS, dataBytes - offset);
+			chunks[i] = channel.map(mode, HEADER_SIZE + offset, length);
+		}
+	}
+
+	/**
+	 * Creates a new file holding an empty wall store for a maze of the given width and height.
+	 * An existing file at the given path is overwritten.
+	 * @param file path of the file
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 * @return the wall store backed by the new file
+	 * @throws IOException if the file could not be created or mapped
+	 */
+	public static MappedWallStore create(Path file, int width, int height) throws IOException {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException("Invalid wall store dimensions, got width: " + width
+					+ " height: " + height);
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			MappedWallStore store = new MappedWallStore(channel, false, width, height);
+			writeHeader(store.header, width, height, 0, "", 0);
+			return store;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens a wall store which was earlier created with create.
+	 * @param file path of the file
+	 * @param readOnly true if the walls should only be read, not changed
+	 * @return the wall store backed by the file
+	 * @throws IOException if the file could not be read, or is not a wall store file
+	 */
+	public static MappedWallStore open(Path file, boolean readOnly) throws IOException {
+		FileChannel channel = readOnly ? FileChannel.open(file, StandardOpenOption.READ)
+				: FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException("File is too small to be a maze file: " + file);
+			}
+			MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a maze file: " + file);
+			}
+			int version = header.getInt(4);
+			if (version < 1 || version > VERSION) {
+				throw new IOException("Unsupported maze file version " + version + ": " + file);
+			}
+			int width = header.getInt(8);
+			int height = header.getInt(12);
+			if (width < 1 || height < 1
+					|| channel.size() < HEADER_SIZE + dataBytes((long) width * height)) {
+				throw new IOException("Maze file is truncated or corrupt: " + file);
+			}
+			MappedWallStore store = new MappedWallStore(channel, readOnly, width, height);
+			store.wallCount = header.getLong(16);
+			return store;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes a header in the current version to the first HEADER_SIZE bytes of the buffer,
+	 * using absolute puts, so the position of the buffer is left as it is.
+	 * @param header buffer of at least HEADER_SIZE bytes, in big endian byte order
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 * @param wallCount number of walls in the maze
+	 * @param typeName name of the maze type, at most TYPE_LENGTH ASCII characters
+	 * @param seed the maze was generated with, or 0 if unknown
+	 */
+	public static void writeHeader(ByteBuffer header, int width, int height, long wallCount,
+								   String typeName, long seed) {
+		byte[] type = typeName.getBytes(StandardCharsets.US_ASCII);
+		if (type.length > TYPE_LENGTH) {
+			throw new IllegalArgumentException("Type name is longer than " + TYPE_LENGTH
+					+ " characters: " + typeName);
+		}
+		for (int i = 0; i < HEADER_SIZE; i++) {
+			header.put(i, (byte) 0);
+		}
+		header.putInt(0, MAGIC);
+		header.putInt(4, VERSION);
+		header.putInt(8, width);
+		header.putInt(12, height);
+		header.putLong(16, wallCount);
+		header.putLong(SEED_OFFSET, seed);
+		for (int i = 0; i < type.length; i++) {
+			header.put(TYPE_OFFSET + i, type[i]);
+		}
+	}
+
+	/**
+	 * Number of bytes needed to hold 2 bits for each of the given number of cells
+	 * @param cells number of cells in the maze
+	 * @return size of the wall data following the header, in bytes
+	 */
+	public static long dataBytes(long cells) {
+		return (2 * cells + 7) >>> 3;
+	}
+
+	/**
+	 * Returns the format version of the file.
+	 * @return version, 1 or 2
+	 */
+	public int getVersion() {
+		return header.getInt(4);
+	}
+
+	/**
+	 * Returns the seed stored in the header.
+	 * @return seed the maze was generated with, 0 if unknown
+	 */
+	public long getSeed() {
+		return getVersion() < 2 ? 0 : header.getLong(SEED_OFFSET);
+	}
+
+	/**
+	 * Returns the name of the maze type stored in the header.
+	 * @return name of the type, empty if unknown
+	 */
+	public String getTypeName() {
+		if (getVersion() < 2) {
+			return "";
+		}
+		byte[] type = new byte[TYPE_LENGTH];
+		int length = 0;
+		while (length < TYPE_LENGTH && header.get(TYPE_OFFSET + length) != 0) {
+			type[length] = header.get(TYPE_OFFSET + length);
+			length++;
+		}
+		return new String(type, 0, length, StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Stores the maze type and seed in the header.
+	 * @param typeName name of the maze type, at most TYPE_LENGTH ASCII characters
+	 * @param seed the maze was generated with, or 0 if unknown
+	 */
+	public void setTypeAndSeed(String typeName, long seed) {
+		if (readOnly) {
+			throw new IllegalStateException("Wall store is read only");
+		}
+		writeHeader(header, width, height, wallCount, typeName, seed);
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public boolean hasWall(int plane, long cell) {
+		long bit = 2 * cell + plane;
+		long i = bit >>> 3;
+		return (chunks[(int) (i >>> CHUNK_BITS)].get((int) (i & CHUNK_MASK)) & (1 << (bit & 7))) != 0;
+	}
+
+	@Override
+	public boolean addWall(int plane, long cell) {
+		long bit = 2 * cell + plane;
+		long i = bit >>> 3;
+		MappedByteBuffer chunk = chunks[(int) (i >>> CHUNK_BITS)];
+		int offset = (int) (i & CHUNK_MASK);
+		byte b = chunk.get(offset);
+		int mask = 1 << (bit & 7);
+		if ((b & mask) != 0) {
+			return false;
+		}
+		chunk.put(offset, (byte) (b | mask));
+		wallCount++;
+		return true;
+	}
+
+	@Override
+	public boolean removeWall(int plane, long cell) {
+		long bit = 2 * cell + plane;
+		long i = bit >>> 3;
+		MappedByteBuffer chunk = chunks[(int) (i >>> CHUNK_BITS)];
+		int offset = (int) (i & CHUNK_MASK);
+		byte b = chunk.get(offset);
+		int mask = 1 << (bit & 7);
+		if ((b & mask) == 0) {
+			return false;
+		}
+		chunk.put(offset, (byte) (b & ~mask));
+		wallCount--;
+		return true;
+	}
+
+	@Override
+	public void clearWall(int plane, long cell) {
+		long bit = 2 * cell + plane;
+		long i = bit >>> 3;
+		MappedByteBuffer chunk = chunks[(int) (i >>> CHUNK_BITS)];
+		int offset = (int) (i & CHUNK_MASK);
+		chunk.put(offset, (byte) (chunk.get(offset) & ~(1 << (bit & 7))));
+	}
+
+	@Override
+	public long recountWalls() {
+		long count = 0;
+		for (MappedByteBuffer chunk : chunks) {
+			ByteBuffer view = chunk.duplicate();
+			view.clear();
+			while (view.remaining() >= 8) {
+				count += Long.bitCount(view.getLong());
+			}
+			while (view.hasRemaining()) {
+				count += Integer.bitCount(view.get() & 0xFF);
+			}
+		}
+		wallCount = count;
+		return count;
+	}
+
+	@Override
+	public void fill() {
+		byte[] ones = new byte[1 << 16];
+		Arrays.fill(ones, (byte) 0xFF);
+		for (MappedByteBuffer chunk : chunks) {
+			ByteBuffer view = chunk.duplicate();
+			view.clear();
+			while (view.hasRemaining()) {
+				view.put(ones, 0, Math.min(ones.length, view.remaining()));
+			}
+		}
+		// Clear the unused bits after the last cell in the final byte
+		int usedBits = (int) ((2 * cells) & 7);
+		if (usedBits != 0) {
+			MappedByteBuffer last = chunks[chunks.length-1];
+			last.put(last.capacity()-1, (byte) ((1 << usedBits) - 1));
+		}
+		wallCount = 2 * cells;
+	}
+
+	@Override
+	public long getWallCount() {
+		return wallCount;
+	}
+
+	@Override
+	public void flush() {
+		if (readOnly) {
+			return;
+		}
+		header.putLong(16, wallCount);
+		header.force();
+		for (MappedByteBuffer chunk : chunks) {
+			chunk.force();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		channel.close();
+	}
+
+}
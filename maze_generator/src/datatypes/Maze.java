@@ -1,10 +1,29 @@
 package datatypes;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Maze {
 	
+	/** Direction codes used by the cell id methods. The opposite of a direction is dir^1 */
+	public static final int WEST = 0, 
+							EAST = 1, 
+							NORTH = 2, 
+							SOUTH = 3;
+	
+	/** 
+	 * Bands of this many rows never share a word of wall bits with another band, whatever the
+	 * width of the maze, see carveConcurrently.
+	 */
+	public static final int CONCURRENT_BAND_ROWS = 64;
+	
 	private final int width, height;
-	private final WallCollection walls = new WallCollection();
-	private final NodeCollection nodes = new NodeCollection();
+	private final WallGrid walls;
+	private final NodeGrid nodes;
+	// Cells visited by the generator running on the maze, allocated on first use
+	private long[] visited;
+	private LongIntMap annotations;
+	private MazeDelta changes;
 	
 	/**
 	 * Constructs a new maze with the given width and height
@@ -12,8 +31,61 @@ public class Maze {
 	 * @param height of the maze in nodes
 	 */
 	public Maze(int width, int height) {
-		this.width = width;
-		this.height = height;
+		this(new HeapWallStore(width, height));
+	}
+	
+	/**
+	 * Constructs a maze whose walls are kept in the given store. The maze gets the store's 
+	 * dimensions and starts out with whatever walls the store holds.
+	 * Mazes with more than Integer.MAX_VALUE nodes can only be used through the coordinate
+	 * methods, not through cell ids or node values.
+	 * @param store holding the walls of the maze
+	 */
+	public Maze(WallStore store) {
+		this.width = store.getWidth();
+		this.height = store.getHeight();
+		this.walls = new WallGrid(store);
+		this.nodes = new NodeGrid(width, height);
+	}
+	
+	/**
+	 * Creates a maze whose walls are kept in a new memory-mapped file rather than on the heap.
+	 * @param file path of the file, which is overwritten if it exists
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 * @return maze backed by the file, without any walls
+	 * @throws IOException if the file could not be created
+	 */
+	public static Maze createMapped(Path file, int width, int height) throws IOException {
+		return new Maze(MappedWallStore.create(file, width, height));
+	}
+	
+	/**
+	 * Opens a maze which was earlier created with createMapped, without regenerating it.
+	 * @param file path of the file
+	 * @param readOnly true if the maze should only be read, not changed
+	 * @return maze backed by the file
+	 * @throws IOException if the file could not be opened or is not a maze file
+	 */
+	public static Maze openMapped(Path file, boolean readOnly) throws IOException {
+		return new Maze(MappedWallStore.open(file, readOnly));
+	}
+	
+	/**
+	 * Writes any pending changes to the walls to their storage. Only needed for mazes backed
+	 * by a file.
+	 * @throws IOException if the walls could not be written
+	 */
+	public void flush() throws IOException {
+		walls.getStore().flush();
+	}
+	
+	/**
+	 * Flushes and releases the storage of the walls. The maze must not be used afterwards.
+	 * @throws IOException if the storage could not be released
+	 */
+	public void close() throws IOException {
+		walls.getStore().close();
 	}
 	
 	/**
@@ -37,7 +109,9 @@ public class Maze {
 	 * @param w wall to be added
 	 */
 	public void addWall(Wall w) {
-		walls.add(w);
+		if (walls.add(w)) {
+			recordWall(w, true);
+		}
 	}
 	
 	/**
@@ -59,9 +133,49 @@ public class Maze {
 	 * @param y2 second coordinate of b
 	 */
 	public void addWall(int x1, int y1, int x2, int y2) {
-		Node a = new Node(x1, y1);
-		Node b = new Node(x2, y2);
-		addWall(a, b);
+		if (y1 == y2 && Math.abs(x1 - x2) == 1) {
+			if (walls.addEastWall(Math.min(x1, x2), y1)) {
+				record(Math.min(x1, x2), y1, EAST, true);
+			}
+		} else if (x1 == x2 && Math.abs(y1 - y2) == 1) {
+			if (walls.addSouthWall(x1, Math.min(y1, y2))) {
+				record(x1, Math.min(y1, y2), SOUTH, true);
+			}
+		} else {
+			throw new IllegalArgumentException("Nodes must be neighbours, got (" + x1 + ", " + y1 
+					+ ") and (" + x2 + ", " + y2 + ")");
+		}
+	}
+	
+	/**
+	 * Adds every possible wall to the maze, such that every node is walled off from all of its 
+	 * neighbours.
+	 */
+	public void addAllWalls() {
+		walls.fill();
+		if (changes != null) {
+			changes.markFull();
+		}
+	}
+	
+	/**
+	 * Checks whether the maze has a wall between the node at (x, y) and its east neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if there is a wall to the east of the node
+	 */
+	public boolean hasEastWall(int x, int y) {
+		return walls.hasEastWall(x, y);
+	}
+	
+	/**
+	 * Checks whether the maze has a wall between the node at (x, y) and its south neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if there is a wall to the south of the node
+	 */
+	public boolean hasSouthWall(int x, int y) {
+		return walls.hasSouthWall(x, y);
 	}
 	
 	/**
@@ -71,16 +185,28 @@ public class Maze {
 	 * in the maze 
 	 */
 	public Wall removeWall(Wall w) {
-		return walls.remove(w);
+		if (walls.remove(w)) {
+			recordWall(w, false);
+			return w;
+		}
+		return null;
 	}
 	
 	/**
-	 * Removes the i'th wall in the maze
+	 * Removes the i'th wall in the maze, counted in the order of getWallsIterator. 
+	 * This has to walk the walls, so it runs in linear time.
 	 * @param i
 	 * @return wall object of the wall which was removed
 	 */
 	public Wall removeWall(int i) {
-		return walls.remove(i);
+		if (i >= 0 && i < walls.size()) {
+			for (Wall wall : walls) {
+				if (i-- == 0) {
+					return removeWall(wall);
+				}
+			}
+		}
+		throw new IllegalArgumentException("Must have 0 < i < size(), got i=" + i);
 	}
 	
 	/**
@@ -92,76 +218,473 @@ public class Maze {
 	 */
 	public Wall removeWall(Node a, Node b) {
 		Wall wall = new Wall(a, b);
-		return walls.remove(wall);
+		return removeWall(wall);
+	}
+
+	/**
+	 * Removes the wall between the nodes a and b, where a is given by (x1, y1) 
+	 * and b is given by (x2, y2)
+	 * @param x1 first coordinate of a
+	 * @param y1 second coordinate of a
+	 * @param x2 first coordinate of b
+	 * @param y2 second coordinate of b
+	 * @return true if there was a wall between a and b which got removed
+	 */
+	public boolean removeWall(int x1, int y1, int x2, int y2) {
+		if (y1 == y2 && Math.abs(x1 - x2) == 1) {
+			if (walls.removeEastWall(Math.min(x1, x2), y1)) {
+				record(Math.min(x1, x2), y1, EAST, false);
+				return true;
+			}
+			return false;
+		} else if (x1 == x2 && Math.abs(y1 - y2) == 1) {
+			if (walls.removeSouthWall(x1, Math.min(y1, y2))) {
+				record(x1, Math.min(y1, y2), SOUTH, false);
+				return true;
+			}
+			return false;
+		}
+		throw new IllegalArgumentException("Nodes must be neighbours, got (" + x1 + ", " + y1 
+				+ ") and (" + x2 + ", " + y2 + ")");
+	}
+
+	/**
+	 * Removes the wall to the east or south of the node at (x, y) without updating the wall 
+	 * count. Threads may carve concurrently with this method as long as each thread works on 
+	 * its own band of rows, where every band starts at a row which is a multiple of 
+	 * CONCURRENT_BAND_ROWS. Call recountWalls when all threads are done. While changes are 
+	 * recorded, see recordChanges, only one thread may carve at a time.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param dir EAST or SOUTH
+	 */
+	public void carveConcurrently(int x, int y, int dir) {
+		if (dir == EAST && x < width-1) {
+			walls.clearWall(x, y, WallStore.EAST);
+		} else if (dir == SOUTH && y < height-1) {
+			walls.clearWall(x, y, WallStore.SOUTH);
+		} else {
+			throw new IllegalArgumentException("Can only carve east or south inside the maze, got ("
+					+ x + ", " + y + ") dir: " + dir);
+		}
+		record(x, y, dir, false);
+	}
+	
+	/**
+	 * Removes the wall to the east or south of the given cell without updating the wall 
+	 * count, under the same rules as carveConcurrently(x, y, dir).
+	 * @param cell id
+	 * @param dir EAST or SOUTH
+	 */
+	public void carveConcurrently(int cell, int dir) {
+		if (dir == EAST && cell % width < width-1) {
+			walls.clearWall(cell, WallStore.EAST);
+		} else if (dir == SOUTH && cell < width * (height-1)) {
+			walls.clearWall(cell, WallStore.SOUTH);
+		} else {
+			throw new IllegalArgumentException("Can only carve east or south inside the maze, got cell: "
+					+ cell + " dir: " + dir);
+		}
+		if (changes != null) {
+			record(cellX(cell), cellY(cell), dir, false);
+		}
+	}
+	
+	/**
+	 * Recomputes the number of walls in the maze after carveConcurrently has been used.
+	 * @return amount of walls in the maze
+	 */
+	public long recountWalls() {
+		return walls.recount();
 	}
 
 	/**
-	 * Sets a node value, if the given value is 0 the node is deleted from the nodeCollection.
+	 * Sets a node value. Nodes with the value 0 are left out of getNodesIterator.
 	 * @param node object to set the value to
 	 * @param int value to set to the given node
 	 */
 	public void setNodeValue(Node node, int value) {
-		if (value == 0) {
-			nodes.remove(node);
-			return;
-		}
-		if (!nodes.contains(node)) {
-			nodes.add(node);
-		}
-		nodes.setNodeValue(node, value);
+		setNodeValue(node.getX(), node.getY(), value);
 	}
 
 	/**
-	 * Sets a node value, if the given value is 0 the node is deleted from the nodeCollection.
+	 * Sets a node value. Nodes with the value 0 are left out of getNodesIterator.
 	 * @param x coordinate of the node.
 	 * @param y coordinate of the node.
 	 * @param int value to set to the given node coordinates.
 	 */
 	public void setNodeValue(int x, int y, int value) {
-		Node node = new Node(x, y);
-		setNodeValue(node, value);
+		nodes.setValue(x, y, value);
+		if (changes != null) {
+			changes.nodeChanged(x, y, value);
+		}
 	}
 	
 	/**
-	 * Returns the value assigned to the given node. If the node is not in the nodeCollection its 
-	 * value is 0 by default.
+	 * Sets every node in the maze to the given value.
+	 * @param value to give all nodes
+	 */
+	public void setAllNodeValues(int value) {
+		nodes.fill(value);
+		if (changes != null) {
+			changes.markFull();
+		}
+	}
+	
+	/**
+	 * Returns the value assigned to the given node. If the node has not been given a value 
+	 * its value is 0 by default.
 	 * @param node object to get the value from
 	 * @return int value assigned to the given node
 	 */
 	public int getNodeValue(Node node) {
-		return nodes.getNodeValue(node);
+		return nodes.getValue(node.getX(), node.getY());
 	}
 
 	/**
-	 * Returns the value assigned to the given node. If the node is not in the nodeCollection its 
-	 * value is 0 by default.
+	 * Returns the value assigned to the given node. If the node has not been given a value 
+	 * its value is 0 by default.
 	 * @param x coordinate of the requested node
 	 * @param y coordinate of the requested node
 	 * @return int value assigned to the given node.
 	 */
 	public int getNodeValue(int x, int y) {
-		Node node = new Node(x, y);
-		return nodes.getNodeValue(node);
+		return nodes.getValue(x, y);
 	}
 	
 	/**
-	 * Fetches the corresponding node object from the nodeCollection.
+	 * Fetches a node object holding the coordinates and value of the given node.
 	 * @param node which is requested.
-	 * @return node object corresponding to the given node in the nodeCollection.
+	 * @return node object with the value of the given node, or null if its value is 0.
 	 */
 	public Node getNode(Node node) {
-		return nodes.get(node);
+		return getNode(node.getX(), node.getY());
 	}
 
 	/**
-	 * Fetches the corresponding node object from the nodeCollection.
+	 * Fetches a node object holding the coordinates and value of the given node.
 	 * @param x coordinate of the requested node
 	 * @param y coordinate of the requested node
-	 * @return node object corresponding to the given node in the nodeCollection.
+	 * @return node object with the value of the given node, or null if its value is 0.
 	 */
 	public Node getNode(int x, int y) {
-		Node node = new Node(x, y);
-		return getNode(node);
+		int value = nodes.getValue(x, y);
+		if (value == 0) {
+			return null;
+		}
+		return new Node(x, y, value);
+	}
+	
+	/**
+	 * Returns the number of nodes in the maze. Cell ids run from 0 to getCellCount()-1.
+	 * @return width*height
+	 * @throws IllegalStateException if the maze is too large to be addressed by int cell ids
+	 */
+	public int getCellCount() {
+		long cells = (long) width * height;
+		if (cells > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Maze too large for cell ids, got width: " + width
+					+ " height: " + height);
+		}
+		return (int) cells;
+	}
+	
+	/**
+	 * Returns the cell id of the node at (x, y), which is y*width+x.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return int cell id
+	 */
+	public int cellId(int x, int y) {
+		return y * width + x;
+	}
+	
+	/**
+	 * Returns the x-coordinate of the given cell.
+	 * @param cell id
+	 * @return x-coordinate of the cell
+	 */
+	public int cellX(int cell) {
+		return cell % width;
+	}
+	
+	/**
+	 * Returns the y-coordinate of the given cell.
+	 * @param cell id
+	 * @return y-coordinate of the cell
+	 */
+	public int cellY(int cell) {
+		return cell / width;
+	}
+	
+	/**
+	 * Returns the direction opposite to the given direction.
+	 * @param dir direction code
+	 * @return the opposite direction code
+	 */
+	public static int opposite(int dir) {
+		return dir ^ 1;
+	}
+	
+	/**
+	 * Returns the neighbour of the given cell in the given direction.
+	 * @param cell id
+	 * @param dir one of WEST, EAST, NORTH and SOUTH
+	 * @return cell id of the neighbour, or -1 if the cell is on the border in that direction
+	 */
+	public int neighbour(int cell, int dir) {
+		switch (dir) {
+			case WEST:
+				return cell % width == 0 ? -1 : cell - 1;
+			case EAST:
+				return cell % width == width-1 ? -1 : cell + 1;
+			case NORTH:
+				return cell < width ? -1 : cell - width;
+			case SOUTH:
+				return cell >= width * (height-1) ? -1 : cell + width;
+			default:
+				throw new IllegalArgumentException("Invalid direction, got " + dir);
+		}
+	}
+	
+	/**
+	 * Checks whether there is a passage from the given cell to its neighbour in the given 
+	 * direction.
+	 * @param cell id
+	 * @param dir one of WEST, EAST, NORTH and SOUTH
+	 * @return true if the neighbour exists and there is no wall between the two cells
+	 */
+	public boolean isOpen(int cell, int dir) {
+		if (neighbour(cell, dir) < 0) {
+			return false;
+		}
+		switch (dir) {
+			case WEST:
+				return !walls.hasEastWall(cell - 1);
+			case EAST:
+				return !walls.hasEastWall(cell);
+			case NORTH:
+				return !walls.hasSouthWall(cell - width);
+			default:
+				return !walls.hasSouthWall(cell);
+		}
+	}
+	
+	/**
+	 * Returns the directions in which the given cell has a passage to a neighbour, as a 
+	 * bitmask where bit d is set if the cell is open in direction d. This reads the walls 
+	 * around the cell in one go, which is faster than calling isOpen for every direction.
+	 * @param cell id
+	 * @return bitmask of the open directions, with the bits 1 << WEST, 1 << EAST, 
+	 * 		   1 << NORTH and 1 << SOUTH
+	 */
+	public int openDirections(int cell) {
+		return walls.openSides(cell);
+	}
+	
+	/**
+	 * Removes the wall between the given cell and its neighbour in the given direction.
+	 * @param cell id
+	 * @param dir one of WEST, EAST, NORTH and SOUTH
+	 * @return cell id of the neighbour on the other side of the removed wall
+	 */
+	public int carve(int cell, int dir) {
+		int neighbour = neighbour(cell, dir);
+		if (neighbour < 0) {
+			throw new IllegalArgumentException("Cannot carve through the border of the maze, got cell: "
+					+ cell + " dir: " + dir);
+		}
+		switch (dir) {
+			case WEST:
+				walls.removeEastWall(neighbour);
+				break;
+			case EAST:
+				walls.removeEastWall(cell);
+				break;
+			case NORTH:
+				walls.removeSouthWall(neighbour);
+				break;
+			default:
+				walls.removeSouthWall(cell);
+				break;
+		}
+		if (changes != null) {
+			// The wall is stored at the western or northern cell of the two
+			int owner = dir == WEST || dir == NORTH ? neighbour : cell;
+			int plane = dir == WEST || dir == EAST ? EAST : SOUTH;
+			changes.wallChanged(cellX(owner), cellY(owner), plane, false);
+		}
+		return neighbour;
+	}
+	
+	/**
+	 * Checks whether the given cell has been marked as visited by a generator. The marks are
+	 * only valid during one generation, MazeGen clears them when a generation starts, and 
+	 * generators which use them clear them when they finish.
+	 * @param cell id
+	 * @return true if the cell is marked as visited
+	 */
+	public boolean isVisited(int cell) {
+		return visited != null && (visited[cell >>> 6] & (1L << cell)) != 0;
+	}
+	
+	/**
+	 * Marks the given cell as visited.
+	 * @param cell id
+	 */
+	public void setVisited(int cell) {
+		if (visited == null) {
+			visited = new long[(getCellCount() + 63) >>> 6];
+		}
+		visited[cell >>> 6] |= 1L << cell;
+	}
+	
+	/**
+	 * Clears the visited mark of every cell in the maze, and frees the memory of the marks.
+	 */
+	public void clearVisited() {
+		visited = null;
+	}
+	
+	/**
+	 * Returns the value assigned to the given cell, 0 if it has not been given a value.
+	 * @param cell id
+	 * @return int value of the cell
+	 */
+	public int getCellValue(int cell) {
+		return nodes.getValue(cell);
+	}
+	
+	/**
+	 * Sets the value of the given cell.
+	 * @param cell id
+	 * @param value to give the cell
+	 */
+	public void setCellValue(int cell, int value) {
+		nodes.setValue(cell, value);
+		if (changes != null) {
+			changes.nodeChanged(cellX(cell), cellY(cell), value);
+		}
+	}
+	
+	/**
+	 * Starts or stops recording the changes made to the maze, which can then be fetched with
+	 * takeChanges. Recording is meant for animation and is not thread safe, so the maze may
+	 * only be changed by one thread at a time while changes are recorded.
+	 * @param record true to start recording, false to stop and drop the recorded changes
+	 */
+	public void recordChanges(boolean record) {
+		changes = record ? new MazeDelta() : null;
+	}
+	
+	/**
+	 * Returns the changes recorded since the last call and starts a new list of changes.
+	 * @return the recorded changes, or null if changes are not being recorded
+	 */
+	public MazeDelta takeChanges() {
+		MazeDelta taken = changes;
+		if (taken != null) {
+			changes = new MazeDelta();
+		}
+		return taken;
+	}
+	
+	private void record(int x, int y, int dir, boolean wall) {
+		if (changes != null) {
+			changes.wallChanged(x, y, dir, wall);
+		}
+	}
+	
+	private void recordWall(Wall w, boolean wall) {
+		if (changes != null) {
+			Node a = w.getA();
+			Node b = w.getB();
+			int x = Math.min(a.getX(), b.getX());
+			int y = Math.min(a.getY(), b.getY());
+			changes.wallChanged(x, y, a.getY() == b.getY() ? EAST : SOUTH, wall);
+		}
+	}
+	
+	/**
+	 * Packs the coordinates of a node into the long key used for annotations, with x in the 
+	 * upper and y in the lower 32 bits.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return long key of the node
+	 */
+	public static long coordinateKey(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Annotates the node at (x, y) with the given value, e.g. a marker, a solution flag or a 
+	 * distance. Annotations are kept in a sparse map, so they only cost memory for the nodes 
+	 * which are annotated.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param value to annotate the node with
+	 */
+	public void setAnnotation(int x, int y, int value) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			throw new IllegalArgumentException("Node outside of the maze, got x: " + x + " y: " + y);
+		}
+		if (annotations == null) {
+			annotations = new LongIntMap();
+		}
+		annotations.put(coordinateKey(x, y), value);
+	}
+	
+	/**
+	 * Returns the annotation of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param defaultValue returned if the node is not annotated
+	 * @return the annotation of the node, or defaultValue if it has none
+	 */
+	public int getAnnotation(int x, int y, int defaultValue) {
+		if (annotations == null) {
+			return defaultValue;
+		}
+		return annotations.get(coordinateKey(x, y), defaultValue);
+	}
+	
+	/**
+	 * Checks whether the node at (x, y) is annotated.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the node has an annotation
+	 */
+	public boolean hasAnnotation(int x, int y) {
+		return annotations != null && annotations.containsKey(coordinateKey(x, y));
+	}
+	
+	/**
+	 * Removes the annotation of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the node had an annotation
+	 */
+	public boolean removeAnnotation(int x, int y) {
+		return annotations != null && annotations.remove(coordinateKey(x, y));
+	}
+	
+	/**
+	 * Removes every annotation in the maze.
+	 */
+	public void clearAnnotations() {
+		annotations = null;
+	}
+	
+	/**
+	 * Returns the map holding the annotations, keyed by coordinateKey(x, y). Can be used to 
+	 * walk all annotated nodes.
+	 * @return map of annotations, empty if no node is annotated
+	 */
+	public LongIntMap getAnnotations() {
+		if (annotations == null) {
+			annotations = new LongIntMap();
+		}
+		return annotations;
 	}
 	
 	/**
@@ -184,7 +707,7 @@ public class Maze {
 	 * Returns the amount of walls in the maze
 	 * @return int with amount of walls in the maze
 	 */
-	public int getWallCount() {
+	public long getWallCount() {
 		return walls.size();
 	}
 	
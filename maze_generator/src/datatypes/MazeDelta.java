@@ -0,0 +1,146 @@
+package datatypes;
+
+public class MazeDelta {
+
+	/** Kind of a change to the value of a node, walls use Maze.EAST and Maze.SOUTH */
+	public static final int NODE = -1;
+
+	// Four ints per change: x, y, kind and value
+	private int[] changes = new int[64];
+	private int size = 0;
+	private boolean full = false;
+
+	/**
+	 * Constructs an empty list of changes to a maze. Every change is a node whose value was
+	 * set, or a wall to the east or south of a node which was added or removed. Changes which
+	 * touch the whole maze at once, like adding every wall, are not listed, but mark the delta
+	 * as full instead, meaning the whole maze has to be redrawn.
+	 */
+	public MazeDelta() {
+	}
+
+	/**
+	 * Adds a change to the wall to the east or south of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param dir Maze.EAST or Maze.SOUTH
+	 * @param wall true if the wall was added, false if it was removed
+	 */
+	public void wallChanged(int x, int y, int dir, boolean wall) {
+		add(x, y, dir, wall ? 1 : 0);
+	}
+
+	/**
+	 * Adds a change to the value of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param value the node was given
+	 */
+	public void nodeChanged(int x, int y, int value) {
+		add(x, y, NODE, value);
+	}
+
+	/**
+	 * Marks the whole maze as changed, which makes the listed changes pointless.
+	 */
+	public void markFull() {
+		full = true;
+		size = 0;
+	}
+
+	/**
+	 * Checks whether the whole maze has changed.
+	 * @return true if the maze must be redrawn as a whole
+	 */
+	public boolean isFull() {
+		return full;
+	}
+
+	/**
+	 * Checks if there are no changes.
+	 * @return true if nothing changed
+	 */
+	public boolean isEmpty() {
+		return !full && size == 0;
+	}
+
+	/**
+	 * Returns the number of listed changes.
+	 * @return int amount of changes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the x coordinate of the node of the i'th change.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return x coordinate
+	 */
+	public int getX(int i) {
+		return changes[4*i];
+	}
+
+	/**
+	 * Returns the y coordinate of the node of the i'th change.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return y coordinate
+	 */
+	public int getY(int i) {
+		return changes[4*i + 1];
+	}
+
+	/**
+	 * Returns what the i'th change changed.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return NODE, Maze.EAST or Maze.SOUTH
+	 */
+	public int getKind(int i) {
+		return changes[4*i + 2];
+	}
+
+	/**
+	 * Returns the new value of the i'th change.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return the node value, or for walls 1 if the wall was added and 0 if it was removed
+	 */
+	public int getValue(int i) {
+		return changes[4*i + 3];
+	}
+
+	/**
+	 * Returns the column of the i'th change in a bitmap of the maze as drawn by MazeDrawer,
+	 * where nodes are at odd pixels and the walls between them, inside a border.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return x coordinate of the changed pixel
+	 */
+	public int getPixelX(int i) {
+		return 2 * getX(i) + (getKind(i) == Maze.EAST ? 2 : 1);
+	}
+
+	/**
+	 * Returns the row of the i'th change in a bitmap of the maze as drawn by MazeDrawer.
+	 * @param i index of the change, between 0 and size()-1
+	 * @return y coordinate of the changed pixel
+	 */
+	public int getPixelY(int i) {
+		return 2 * getY(i) + (getKind(i) == Maze.SOUTH ? 2 : 1);
+	}
+
+	private void add(int x, int y, int kind, int value) {
+		if (full) {
+			return;
+		}
+		if (4 * size == changes.length) {
+			int[] grown = new int[2 * changes.length];
+			System.arraycopy(changes, 0, grown, 0, changes.length);
+			changes = grown;
+		}
+		changes[4*size] = x;
+		changes[4*size + 1] = y;
+		changes[4*size + 2] = kind;
+		changes[4*size + 3] = value;
+		size++;
+	}
+
+}
@@ -119,6 +119,16 @@ public class Node {
 		return this.x == b.getX() && this.y == b.getY();
 	}
 	
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Node && equals((Node) o);
+	}
+	
+	@Override
+	public int hashCode() {
+		return 31 * x + y;
+	}
+	
 	@Override
 	public String toString() {
 		return "(" + x + ", " + y + ")";
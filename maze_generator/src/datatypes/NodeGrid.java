@@ -0,0 +1,185 @@
+package datatypes;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class NodeGrid implements Iterable<Node> {
+
+	public static final int MAX_VALUE = 255;
+
+	private final int width, height;
+	private byte[] values;
+	private int size;
+
+	/**
+	 * Constructs a grid of node values for a maze of the given width and height. Every node
+	 * has the value 0 until it is given another value. The values are kept in a dense byte
+	 * array indexed by y*width+x, which is only allocated once a node gets a non-zero value.
+	 * Mazes with more than Integer.MAX_VALUE nodes can not give their nodes values.
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 */
+	public NodeGrid(int width, int height) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException("Invalid node grid dimensions, got width: " + width
+					+ " height: " + height);
+		}
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Returns the value of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return int value of the node, 0 if it has not been given a value
+	 */
+	public int getValue(int x, int y) {
+		checkInside(x, y);
+		if (values == null) {
+			return 0;
+		}
+		return getValue(y * width + x);
+	}
+
+	/**
+	 * Returns the value of the node with index i = y*width+x.
+	 * @param i index of the node
+	 * @return int value of the node, 0 if it has not been given a value
+	 */
+	public int getValue(int i) {
+		if (values == null) {
+			return 0;
+		}
+		return values[i] & 0xFF;
+	}
+
+	/**
+	 * Sets the value of the node at (x, y).
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param value between 0 and MAX_VALUE
+	 */
+	public void setValue(int x, int y, int value) {
+		checkInside(x, y);
+		setValue(y * width + x, value);
+	}
+
+	/**
+	 * Sets the value of the node with index i = y*width+x.
+	 * @param i index of the node
+	 * @param value between 0 and MAX_VALUE
+	 */
+	public void setValue(int i, int value) {
+		if (value < 0 || value > MAX_VALUE) {
+			throw new IllegalArgumentException("Node value must be between 0 and " + MAX_VALUE
+					+ ", got " + value);
+		}
+		if (values == null) {
+			if (value == 0) {
+				return;
+			}
+			allocate();
+		}
+		int old = values[i];
+		if (old == 0 && value != 0) {
+			size++;
+		} else if (old != 0 && value == 0) {
+			size--;
+		}
+		values[i] = (byte) value;
+	}
+
+	/**
+	 * Sets every node in the grid to the given value.
+	 * @param value between 0 and MAX_VALUE
+	 */
+	public void fill(int value) {
+		if (value == 0 && values == null) {
+			return;
+		}
+		if (values == null) {
+			allocate();
+		}
+		Arrays.fill(values, (byte) value);
+		size = value == 0 ? 0 : values.length;
+	}
+
+	/**
+	 * Returns the number of nodes with a non-zero value.
+	 * @return int amount of nodes with a value
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns an iterator over the nodes with a non-zero value, ordered row by row. The node
+	 * objects are created on the fly.
+	 * @return iterator of the nodes which have a value
+	 */
+	@Override
+	public Iterator<Node> iterator() {
+		return new Iterator<Node>() {
+			private int i = nextIndex(0);
+
+			@Override
+			public boolean hasNext() {
+				return values != null && i < values.length;
+			}
+
+			@Override
+			public Node next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Node node = new Node(i % width, i / width, getValue(i));
+				i = nextIndex(i+1);
+				return node;
+			}
+		};
+	}
+
+	private void allocate() {
+		if ((long) width * height > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Too many nodes to hold node values, got width: "
+					+ width + " height: " + height);
+		}
+		values = new byte[width * height];
+	}
+
+	/**
+	 * Finds the index of the first node at or after i with a non-zero value
+	 */
+	private int nextIndex(int i) {
+		if (values == null) {
+			return 0;
+		}
+		while (i < values.length && values[i] == 0) {
+			i++;
+		}
+		return i;
+	}
+
+	private void checkInside(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			throw new IllegalArgumentException("Node outside of the maze, got x: " + x + " y: " + y);
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (size == 0) {
+			return "";
+		}
+		StringBuilder outString = new StringBuilder("[");
+		for (Node node : this) {
+			outString.append(node).append(", ");
+		}
+		outString.setLength(outString.length()-2);
+		outString.append("]");
+		return outString.toString();
+	}
+
+}
@@ -54,6 +54,19 @@ public class Wall {
 			   (this.a.equals(b.getB()) && this.b.equals(b.getA()));
 	}
 	
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Wall && equals((Wall) o);
+	}
+	
+	/**
+	 * The hash code does not depend on the order of the two nodes, just like equals.
+	 */
+	@Override
+	public int hashCode() {
+		return a.hashCode() + b.hashCode();
+	}
+	
 	@Override
 	public String toString() {
 		return a + " | " + b;
@@ -0,0 +1,99 @@
+package datatypes;
+
+import java.util.Random;
+
+public class WallFrontier {
+
+	private final int[] walls;
+	private final long[] members;
+	private int size;
+
+	/**
+	 * Constructs an empty frontier of wall ids. A wall id is 2*cell for the wall east of a cell
+	 * and 2*cell+1 for the wall south of a cell, so the ids of a maze with n cells are all
+	 * smaller than 2*n. The walls are kept in an int array where removal swaps the last wall into
+	 * the freed slot, and a bitset over the ids tells which walls are in the frontier.
+	 * @param cellCount number of cells in the maze
+	 */
+	public WallFrontier(int cellCount) {
+		if (cellCount < 1 || cellCount > Integer.MAX_VALUE / 2) {
+			throw new IllegalArgumentException("Invalid cell count for frontier, got " + cellCount);
+		}
+		this.walls = new int[2 * cellCount];
+		this.members = new long[(2 * cellCount + 63) >>> 6];
+	}
+
+	/**
+	 * Adds a wall to the frontier, but only if it is not already in the frontier.
+	 * @param wall id
+	 * @return true if the wall was added
+	 */
+	public boolean add(int wall) {
+		if (contains(wall)) {
+			return false;
+		}
+		members[wall >>> 6] |= 1L << wall;
+		walls[size++] = wall;
+		return true;
+	}
+
+	/**
+	 * Checks whether the given wall is in the frontier.
+	 * @param wall id
+	 * @return true if the wall is in the frontier
+	 */
+	public boolean contains(int wall) {
+		return (members[wall >>> 6] & (1L << wall)) != 0;
+	}
+
+	/**
+	 * Fetches the i'th wall in the frontier.
+	 * @param i index of the wall, between 0 and size()-1
+	 * @return wall id
+	 */
+	public int get(int i) {
+		if (i < 0 || i >= size) {
+			throw new IllegalArgumentException("Must have 0 < i < size(), got i=" + i);
+		}
+		return walls[i];
+	}
+
+	/**
+	 * Removes the i'th wall in the frontier by moving the last wall into its place. This
+	 * changes the order of the walls.
+	 * @param i index of the wall, between 0 and size()-1
+	 * @return the wall id which was removed
+	 */
+	public int removeAt(int i) {
+		int wall = get(i);
+		walls[i] = walls[--size];
+		members[wall >>> 6] &= ~(1L << wall);
+		return wall;
+	}
+
+	/**
+	 * Removes a wall picked uniformly at random from the frontier.
+	 * @param rnd, of type java.util.Random
+	 * @return the wall id which was removed
+	 */
+	public int removeRandom(Random rnd) {
+		return removeAt(rnd.nextInt(size));
+	}
+
+	/**
+	 * Returns the number of walls in the frontier.
+	 * @return int amount of walls in the frontier
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if the frontier is empty.
+	 * @return true if there are no walls in the frontier
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+}
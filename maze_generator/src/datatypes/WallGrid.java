@@ -0,0 +1,330 @@
+package datatypes;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class WallGrid implements Iterable<Wall> {
+
+	private final int width, height;
+	private final WallStore store;
+
+	/**
+	 * Constructs an empty wall grid for a maze of the given width and height. Every node owns
+	 * the wall to its east and the wall to its south, and each of these two kinds of walls is
+	 * stored as one bit per node in a packed bitset indexed by y*width+x.
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 */
+	public WallGrid(int width, int height) {
+		this(new HeapWallStore(width, height));
+	}
+
+	/**
+	 * Constructs a wall grid on top of the given store, with the store's dimensions and 
+	 * whatever walls the store already holds.
+	 * @param store holding the wall bits
+	 */
+	public WallGrid(WallStore store) {
+		this.store = store;
+		this.width = store.getWidth();
+		this.height = store.getHeight();
+	}
+
+	/**
+	 * Returns the store holding the wall bits of this grid.
+	 * @return the wall store
+	 */
+	public WallStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Checks whether the node at (x, y) has a wall between itself and its east neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if there is a wall to the east of the node
+	 */
+	public boolean hasEastWall(int x, int y) {
+		return isInside(x, y) && store.hasWall(WallStore.EAST, index(x, y));
+	}
+
+	/**
+	 * Checks whether the node at (x, y) has a wall between itself and its south neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if there is a wall to the south of the node
+	 */
+	public boolean hasSouthWall(int x, int y) {
+		return isInside(x, y) && store.hasWall(WallStore.SOUTH, index(x, y));
+	}
+
+	/**
+	 * Adds the wall between the node at (x, y) and its east neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the wall was added, false if it was already in the grid
+	 */
+	public boolean addEastWall(int x, int y) {
+		if (!isInside(x, y) || x == width-1) {
+			throw new IllegalArgumentException("No east wall inside the maze at (" + x + ", " + y + ")");
+		}
+		return store.addWall(WallStore.EAST, index(x, y));
+	}
+
+	/**
+	 * Adds the wall between the node at (x, y) and its south neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the wall was added, false if it was already in the grid
+	 */
+	public boolean addSouthWall(int x, int y) {
+		if (!isInside(x, y) || y == height-1) {
+			throw new IllegalArgumentException("No south wall inside the maze at (" + x + ", " + y + ")");
+		}
+		return store.addWall(WallStore.SOUTH, index(x, y));
+	}
+
+	/**
+	 * Removes the wall between the node at (x, y) and its east neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the wall was removed, false if there was no such wall
+	 */
+	public boolean removeEastWall(int x, int y) {
+		return isInside(x, y) && store.removeWall(WallStore.EAST, index(x, y));
+	}
+
+	/**
+	 * Removes the wall between the node at (x, y) and its south neighbour.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @return true if the wall was removed, false if there was no such wall
+	 */
+	public boolean removeSouthWall(int x, int y) {
+		return isInside(x, y) && store.removeWall(WallStore.SOUTH, index(x, y));
+	}
+
+	/**
+	 * Checks whether the node with index i = y*width+x has a wall to its east.
+	 * @param i index of the node
+	 * @return true if there is a wall to the east of the node
+	 */
+	public boolean hasEastWall(int i) {
+		return store.hasWall(WallStore.EAST, i);
+	}
+
+	/**
+	 * Returns the sides of the node with index i = y*width+x which have no wall and do not 
+	 * face the border.
+	 * @param i index of the node
+	 * @return bitmask of the open sides, bit d set for the open direction d of Maze
+	 */
+	public int openSides(int i) {
+		return store.openSides(i);
+	}
+
+	/**
+	 * Checks whether the node with index i = y*width+x has a wall to its south.
+	 * @param i index of the node
+	 * @return true if there is a wall to the south of the node
+	 */
+	public boolean hasSouthWall(int i) {
+		return store.hasWall(WallStore.SOUTH, i);
+	}
+
+	/**
+	 * Removes the wall to the east of the node with index i = y*width+x.
+	 * @param i index of the node
+	 * @return true if the wall was removed, false if there was no such wall
+	 */
+	public boolean removeEastWall(int i) {
+		return store.removeWall(WallStore.EAST, i);
+	}
+
+	/**
+	 * Removes the wall to the south of the node with index i = y*width+x.
+	 * @param i index of the node
+	 * @return true if the wall was removed, false if there was no such wall
+	 */
+	public boolean removeSouthWall(int i) {
+		return store.removeWall(WallStore.SOUTH, i);
+	}
+
+	/**
+	 * Removes the wall to the east or south of the node at (x, y) without updating the wall 
+	 * count, see WallStore.clearWall.
+	 * @param x coordinate of the node
+	 * @param y coordinate of the node
+	 * @param plane WallStore.EAST or WallStore.SOUTH
+	 */
+	public void clearWall(int x, int y, int plane) {
+		store.clearWall(plane, index(x, y));
+	}
+
+	/**
+	 * Removes the wall to the east or south of the node with index i = y*width+x without 
+	 * updating the wall count, see WallStore.clearWall.
+	 * @param i index of the node
+	 * @param plane WallStore.EAST or WallStore.SOUTH
+	 */
+	public void clearWall(int i, int plane) {
+		store.clearWall(plane, i);
+	}
+
+	/**
+	 * Recomputes the number of walls by counting them in the store.
+	 * @return amount of walls in the grid
+	 */
+	public long recount() {
+		return store.recountWalls();
+	}
+
+	/**
+	 * Adds a wall to the grid, unless it is already there.
+	 * @param inWall
+	 * @return true if the wall was added
+	 */
+	public boolean add(Wall inWall) {
+		Node a = inWall.getA();
+		Node b = inWall.getB();
+		if (a.getY() == b.getY()) {
+			return addEastWall(Math.min(a.getX(), b.getX()), a.getY());
+		}
+		return addSouthWall(a.getX(), Math.min(a.getY(), b.getY()));
+	}
+
+	/**
+	 * Checks whether inWall (or a corresponding wall) is in the grid.
+	 * @param inWall
+	 * @return true if inWall is in the grid
+	 */
+	public boolean contains(Wall inWall) {
+		Node a = inWall.getA();
+		Node b = inWall.getB();
+		if (a.getY() == b.getY()) {
+			return hasEastWall(Math.min(a.getX(), b.getX()), a.getY());
+		}
+		return hasSouthWall(a.getX(), Math.min(a.getY(), b.getY()));
+	}
+
+	/**
+	 * Removes the wall corresponding to inWall from the grid.
+	 * @param inWall
+	 * @return true if the wall was in the grid and got removed
+	 */
+	public boolean remove(Wall inWall) {
+		Node a = inWall.getA();
+		Node b = inWall.getB();
+		if (a.getY() == b.getY()) {
+			return removeEastWall(Math.min(a.getX(), b.getX()), a.getY());
+		}
+		return removeSouthWall(a.getX(), Math.min(a.getY(), b.getY()));
+	}
+
+	/**
+	 * Adds every possible wall inside the maze, i.e. every node is walled off from all of its
+	 * neighbours. Runs in time proportional to the size of the store, plus the width and 
+	 * height of the maze.
+	 */
+	public void fill() {
+		store.fill();
+		// The last column has no east neighbour, and the last row has no south neighbour
+		for (int y = 0; y < height; y++) {
+			store.removeWall(WallStore.EAST, index(width-1, y));
+		}
+		for (int x = 0; x < width; x++) {
+			store.removeWall(WallStore.SOUTH, index(x, height-1));
+		}
+	}
+
+	/**
+	 * Returns the number of walls in the grid.
+	 * @return amount of walls in the grid
+	 */
+	public long size() {
+		return store.getWallCount();
+	}
+
+	/**
+	 * Returns whether the wall grid is empty.
+	 * @return true if there are no walls in the grid
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns an iterator of the walls in the grid, ordered row by row with the east wall of a
+	 * node before its south wall. The wall objects are created on the fly.
+	 * @return iterator of the walls in the grid
+	 */
+	@Override
+	public Iterator<Wall> iterator() {
+		return new Iterator<Wall>() {
+			private final long cells = (long) width * height;
+			private long cell = 0;
+			private boolean south = false;
+
+			{
+				advance();
+			}
+
+			private void advance() {
+				while (cell < cells) {
+					if (store.hasWall(south ? WallStore.SOUTH : WallStore.EAST, cell)) {
+						return;
+					}
+					if (south) {
+						cell++;
+					}
+					south = !south;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return cell < cells;
+			}
+
+			@Override
+			public Wall next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int x = (int) (cell % width);
+				int y = (int) (cell / width);
+				Wall wall = south ? new Wall(new Node(x, y), new Node(x, y+1))
+								  : new Wall(new Node(x, y), new Node(x+1, y));
+				if (south) {
+					cell++;
+				}
+				south = !south;
+				advance();
+				return wall;
+			}
+		};
+	}
+
+	private boolean isInside(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	private long index(int x, int y) {
+		return (long) y * width + x;
+	}
+
+	@Override
+	public String toString() {
+		if (isEmpty()) {
+			return "";
+		}
+		StringBuilder outString = new StringBuilder("[");
+		for (Wall wall : this) {
+			outString.append(wall).append(", ");
+		}
+		outString.setLength(outString.length()-2);
+		outString.append("]");
+		return outString.toString();
+	}
+
+}
@@ -0,0 +1,113 @@
+package datatypes;
+
+import java.io.IOException;
+
+public interface WallStore {
+
+	/** Plane holding the wall to the east of each cell */
+	int EAST = 0;
+	/** Plane holding the wall to the south of each cell */
+	int SOUTH = 1;
+
+	/**
+	 * Returns the width of the maze the walls belong to, measured in nodes.
+	 * @return width in nodes
+	 */
+	int getWidth();
+
+	/**
+	 * Returns the height of the maze the walls belong to, measured in nodes.
+	 * @return height in nodes
+	 */
+	int getHeight();
+
+	/**
+	 * Checks whether the given cell has a wall in the given plane.
+	 * @param plane EAST or SOUTH
+	 * @param cell index y*width+x of the cell
+	 * @return true if the wall is present
+	 */
+	boolean hasWall(int plane, long cell);
+
+	/**
+	 * Returns the sides of the given cell which have no wall and do not face the border, as 
+	 * a bitmask with bit 0 for west, 1 for east, 2 for north and 3 for south, in the order of 
+	 * the direction constants of Maze. Stores which can read the neighbouring walls faster 
+	 * than four calls to hasWall should override this.
+	 * @param cell index y*width+x of the cell
+	 * @return bitmask of the open sides
+	 */
+	default int openSides(long cell) {
+		long width = getWidth();
+		long x = cell % width;
+		int open = 0;
+		if (x > 0 && !hasWall(EAST, cell - 1)) {
+			open |= 1;
+		}
+		if (x < width - 1 && !hasWall(EAST, cell)) {
+			open |= 2;
+		}
+		if (cell >= width && !hasWall(SOUTH, cell - width)) {
+			open |= 4;
+		}
+		if (cell < width * (getHeight() - 1) && !hasWall(SOUTH, cell)) {
+			open |= 8;
+		}
+		return open;
+	}
+
+	/**
+	 * Adds the wall of the given cell in the given plane.
+	 * @param plane EAST or SOUTH
+	 * @param cell index y*width+x of the cell
+	 * @return true if the wall was added, false if it was already present
+	 */
+	boolean addWall(int plane, long cell);
+
+	/**
+	 * Removes the wall of the given cell in the given plane.
+	 * @param plane EAST or SOUTH
+	 * @param cell index y*width+x of the cell
+	 * @return true if the wall was removed, false if there was no such wall
+	 */
+	boolean removeWall(int plane, long cell);
+
+	/**
+	 * Removes the wall of the given cell in the given plane without updating the wall count.
+	 * Threads may call this concurrently as long as they work on disjoint ranges of cells which
+	 * start and end at multiples of 64 cells, followed by a call to recountWalls.
+	 * @param plane EAST or SOUTH
+	 * @param cell index y*width+x of the cell
+	 */
+	void clearWall(int plane, long cell);
+
+	/**
+	 * Recomputes the wall count by counting the walls which are present.
+	 * @return amount of walls in the store
+	 */
+	long recountWalls();
+
+	/**
+	 * Adds both walls of every cell, including the ones facing the border of the maze.
+	 */
+	void fill();
+
+	/**
+	 * Returns the number of walls which are present.
+	 * @return amount of walls in the store
+	 */
+	long getWallCount();
+
+	/**
+	 * Writes any pending changes to the underlying storage.
+	 * @throws IOException if the changes could not be written
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Flushes and releases the underlying storage. The store must not be used afterwards.
+	 * @throws IOException if the storage could not be released
+	 */
+	void close() throws IOException;
+
+}
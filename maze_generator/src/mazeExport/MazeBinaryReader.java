@@ -0,0 +1,73 @@
+package mazeExport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import datatypes.MappedWallStore;
+import datatypes.Maze;
+import program.MazeType;
+
+public class MazeBinaryReader implements AutoCloseable {
+
+	private final MappedWallStore store;
+	private final Maze maze;
+
+	private MazeBinaryReader(MappedWallStore store) {
+		this.store = store;
+		this.maze = new Maze(store);
+	}
+
+	/**
+	 * Opens a maze file written by MazeBinaryWriter. The file is memory-mapped read only, so
+	 * opening is instant and only the parts of the maze which are looked at are read from 
+	 * disk.
+	 * @param file path of the file
+	 * @return the reader, which must be closed when the maze is no longer used
+	 * @throws IOException if the file could not be read, or is not a maze file
+	 */
+	public static MazeBinaryReader open(Path file) throws IOException {
+		return new MazeBinaryReader(MappedWallStore.open(file, true));
+	}
+
+	/**
+	 * Returns the maze backed by the file. Its walls cannot be changed.
+	 * @return the maze
+	 */
+	public Maze getMaze() {
+		return maze;
+	}
+
+	/**
+	 * Returns the type of the maze stored in the file.
+	 * @return the maze type, or null if the file does not say
+	 */
+	public MazeType getType() {
+		String name = store.getTypeName();
+		if (name.isEmpty()) {
+			return null;
+		}
+		try {
+			return MazeType.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the seed the maze was generated with.
+	 * @return the seed, or 0 if the file does not say
+	 */
+	public long getSeed() {
+		return store.getSeed();
+	}
+
+	/**
+	 * Closes the file.
+	 * @throws IOException if the file could not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		store.close();
+	}
+
+}
@@ -0,0 +1,94 @@
+package mazeExport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import datatypes.Maze;
+import datatypes.MappedWallStore;
+import program.MazeType;
+
+public class MazeBinaryWriter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Writes the walls of the maze to a file without a maze type or seed, see the other write
+	 * method.
+	 * @param maze to write
+	 * @param file path of the file, which is overwritten if it exists
+	 * @throws IOException if the file could not be written
+	 */
+	public static void write(Maze maze, Path file) throws IOException {
+		write(maze, null, 0, file);
+	}
+
+	/**
+	 * Writes the maze to a file in the format of MappedWallStore: a header with the size, type
+	 * and seed of the maze, followed by 2 bits per cell for its east and south walls. The
+	 * file is written through a FileChannel in blocks, and can be opened again with 
+	 * MazeBinaryReader or Maze.openMapped.
+	 * @param maze to write
+	 * @param type of the maze, or null if unknown
+	 * @param seed the maze was generated with, or 0 if unknown
+	 * @param file path of the file, which is overwritten if it exists
+	 * @throws IOException if the file could not be written
+	 */
+	public static void write(Maze maze, MazeType type, long seed, Path file) 
+			throws IOException {
+		int width = maze.getWidth();
+		int height = maze.getHeight();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer header = ByteBuffer.allocate(MappedWallStore.HEADER_SIZE);
+			MappedWallStore.writeHeader(header, width, height, maze.getWallCount(),
+										type == null ? "" : type.name(), seed);
+			writeFully(channel, header);
+			// Bit k of the long ends up as bit k%8 of byte k/8, as the format wants
+			ByteBuffer data = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			long bits = 0;
+			int bitCount = 0;
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					if (x < width-1 && maze.hasEastWall(x, y)) {
+						bits |= 1L << bitCount;
+					}
+					if (y < height-1 && maze.hasSouthWall(x, y)) {
+						bits |= 2L << bitCount;
+					}
+					bitCount += 2;
+					if (bitCount == 64) {
+						if (!data.hasRemaining()) {
+							data.flip();
+							writeFully(channel, data);
+							data.clear();
+						}
+						data.putLong(bits);
+						bits = 0;
+						bitCount = 0;
+					}
+				}
+			}
+			for (int i = 0; i < bitCount; i += 8) {
+				if (!data.hasRemaining()) {
+					data.flip();
+					writeFully(channel, data);
+					data.clear();
+				}
+				data.put((byte) (bits >>> i));
+			}
+			data.flip();
+			writeFully(channel, data);
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+}
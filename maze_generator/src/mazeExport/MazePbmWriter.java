@@ -0,0 +1,52 @@
+package mazeExport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import datatypes.Maze;
+
+public class MazePbmWriter {
+
+	/**
+	 * Writes the maze as a binary PBM (P4) image, where walls are black and everything else is
+	 * white. The picture is rasterized one row at a time, so only a single row of pixels is
+	 * held in memory whatever the size of the maze.
+	 * @param maze to write
+	 * @param scale width and height in image pixels of every block of the maze, at least 1
+	 * @param out stream receiving the image, which is not closed
+	 * @throws IOException if the stream fails
+	 */
+	public static void write(Maze maze, int scale, OutputStream out) throws IOException {
+		MazeRasterizer rasterizer = new MazeRasterizer(maze);
+		long imageWidth = (long) rasterizer.getWidth() * scale;
+		long imageHeight = (long) rasterizer.getHeight() * scale;
+		if (scale < 1 || imageWidth > Integer.MAX_VALUE - 7 || imageHeight > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid scale " + scale + " for a maze of "
+					+ maze.getWidth() + "x" + maze.getHeight());
+		}
+		out.write(("P4\n" + imageWidth + " " + imageHeight + "\n")
+				.getBytes(StandardCharsets.US_ASCII));
+		byte[] pixels = new byte[rasterizer.getWidth()];
+		byte[] packed = new byte[(int) ((imageWidth + 7) / 8)];
+		for (int row = 0; row < rasterizer.getHeight(); row++) {
+			rasterizer.rasterRow(row, pixels);
+			Arrays.fill(packed, (byte) 0);
+			int bit = 0;
+			for (int x = 0; x < pixels.length; x++) {
+				boolean black = pixels[x] == MazeRasterizer.WALL;
+				for (int s = 0; s < scale; s++, bit++) {
+					if (black) {
+						// The first pixel of a row goes into the most significant bit
+						packed[bit >>> 3] |= 0x80 >>> (bit & 7);
+					}
+				}
+			}
+			for (int s = 0; s < scale; s++) {
+				out.write(packed);
+			}
+		}
+	}
+
+}
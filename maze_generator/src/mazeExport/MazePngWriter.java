@@ -0,0 +1,161 @@
+package mazeExport;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import datatypes.Maze;
+
+public class MazePngWriter {
+
+	/** Colours of the pixel values 0 to 3 as RGB: corridor, wall, path and unused */
+	private static final int[] PALETTE = {0xFFFFFF, 0x000000, 0xE03030, 0x000000};
+	private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+	// Compressed image data is cut into IDAT chunks of at most this many bytes
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * Writes the maze as a PNG image with a palette of four colours: white corridors, black
+	 * walls and a red path for pixels with value 2. The picture is rasterized, deflated and
+	 * written one row at a time, so only a single row of pixels and a single chunk of 
+	 * compressed data are held in memory whatever the size of the maze. No AWT classes are 
+	 * used.
+	 * @param maze to write
+	 * @param scale width and height in image pixels of every block of the maze, at least 1
+	 * @param out stream receiving the image, which is not closed
+	 * @throws IOException if the stream fails
+	 */
+	public static void write(Maze maze, int scale, OutputStream out) throws IOException {
+		MazeRasterizer rasterizer = new MazeRasterizer(maze);
+		long imageWidth = (long) rasterizer.getWidth() * scale;
+		long imageHeight = (long) rasterizer.getHeight() * scale;
+		// Every row is a filter byte followed by 4 pixels per byte
+		if (scale < 1 || (imageWidth + 3) / 4 + 1 > Integer.MAX_VALUE
+				|| imageHeight > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid scale " + scale + " for a maze of "
+					+ maze.getWidth() + "x" + maze.getHeight());
+		}
+		DataOutputStream data = new DataOutputStream(out);
+		data.write(SIGNATURE);
+		ChunkOutputStream header = new ChunkOutputStream(data, "IHDR", 13);
+		DataOutputStream headerData = new DataOutputStream(header);
+		headerData.writeInt((int) imageWidth);
+		headerData.writeInt((int) imageHeight);
+		// Bit depth 2, colour type 3 (palette), deflate, no filtering, not interlaced
+		headerData.write(new byte[] {2, 3, 0, 0, 0});
+		header.close();
+		ChunkOutputStream palette = new ChunkOutputStream(data, "PLTE", 3 * PALETTE.length);
+		for (int rgb : PALETTE) {
+			palette.write(rgb >>> 16);
+			palette.write(rgb >>> 8);
+			palette.write(rgb);
+		}
+		palette.close();
+		ChunkOutputStream imageData = new ChunkOutputStream(data, "IDAT", CHUNK_SIZE);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			DeflaterOutputStream deflated = new DeflaterOutputStream(imageData, deflater, 
+																	 CHUNK_SIZE);
+			byte[] pixels = new byte[rasterizer.getWidth()];
+			byte[] packed = new byte[(int) ((imageWidth + 3) / 4 + 1)];
+			for (int row = 0; row < rasterizer.getHeight(); row++) {
+				rasterizer.rasterRow(row, pixels);
+				packRow(pixels, scale, packed);
+				for (int s = 0; s < scale; s++) {
+					deflated.write(packed);
+				}
+			}
+			deflated.finish();
+			imageData.close();
+		} finally {
+			deflater.end();
+		}
+		new ChunkOutputStream(data, "IEND", 0).close();
+		data.flush();
+	}
+
+	/**
+	 * Packs a row of pixels, repeating every pixel scale times, into 2 bits per pixel with the
+	 * first pixel in the most significant bits, after a filter byte of 0.
+	 */
+	private static void packRow(byte[] pixels, int scale, byte[] packed) {
+		for (int i = 0; i < packed.length; i++) {
+			packed[i] = 0;
+		}
+		int pixel = 0;
+		for (int x = 0; x < pixels.length; x++) {
+			int value = pixels[x] & 3;
+			for (int s = 0; s < scale; s++, pixel++) {
+				packed[1 + (pixel >>> 2)] |= value << (6 - 2 * (pixel & 3));
+			}
+		}
+	}
+
+	/**
+	 * Collects the data of a PNG chunk and writes it, with its length, type and CRC, each
+	 * time the buffer is full and when closed. A full buffer starts a new chunk of the same
+	 * type, which is how PNG splits large image data into several IDAT chunks.
+	 */
+	private static class ChunkOutputStream extends OutputStream {
+
+		private final DataOutputStream out;
+		private final byte[] type;
+		private final byte[] buffer;
+		private final CRC32 crc = new CRC32();
+		private int length = 0;
+
+		ChunkOutputStream(DataOutputStream out, String type, int capacity) {
+			this.out = out;
+			this.type = type.getBytes(StandardCharsets.US_ASCII);
+			this.buffer = new byte[capacity];
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (length == buffer.length) {
+				writeChunk();
+			}
+			buffer[length++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (length == buffer.length) {
+					writeChunk();
+				}
+				int n = Math.min(len, buffer.length - length);
+				System.arraycopy(b, off, buffer, length, n);
+				length += n;
+				off += n;
+				len -= n;
+			}
+		}
+
+		/**
+		 * Writes what is left in the buffer as the last chunk. The underlying stream is not
+		 * closed.
+		 */
+		@Override
+		public void close() throws IOException {
+			writeChunk();
+		}
+
+		private void writeChunk() throws IOException {
+			crc.reset();
+			crc.update(type);
+			crc.update(buffer, 0, length);
+			out.writeInt(length);
+			out.write(type);
+			out.write(buffer, 0, length);
+			out.writeInt((int) crc.getValue());
+			length = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+package mazeExport;
+
+import datatypes.Maze;
+
+public class MazeRasterizer {
+
+	/** Pixel value of a corridor */
+	public static final byte CORRIDOR = 0;
+	/** Pixel value of a wall */
+	public static final byte WALL = 1;
+	/** Pixel value of a node on the solution path, and of the passages between such nodes */
+	public static final byte PATH = 2;
+
+	private final Maze maze;
+
+	/**
+	 * Constructs a rasterizer producing the same picture of the maze as 
+	 * MazeDrawer.generateBitmap, but one row of pixels at a time, such that a maze can be 
+	 * written out without ever holding the whole bitmap in memory. Each node is a pixel at 
+	 * (2x+1, 2y+1) with the value of the node, the pixels between nodes are walls or corridors,
+	 * and the maze is framed by a border of walls. An open passage between two nodes on the 
+	 * path is drawn as path too, such that the path is one connected line.
+	 * @param maze to rasterize
+	 */
+	public MazeRasterizer(Maze maze) {
+		this.maze = maze;
+	}
+
+	/**
+	 * Returns the width of the picture.
+	 * @return width in pixels, 2*width+1
+	 */
+	public int getWidth() {
+		return 2 * maze.getWidth() + 1;
+	}
+
+	/**
+	 * Returns the height of the picture.
+	 * @return height in pixels, 2*height+1
+	 */
+	public int getHeight() {
+		return 2 * maze.getHeight() + 1;
+	}
+
+	/**
+	 * Writes the pixels of the given row into the given array.
+	 * @param row index of the row, between 0 and getHeight()-1
+	 * @param pixels array of at least getWidth() elements receiving the row
+	 */
+	public void rasterRow(int row, byte[] pixels) {
+		int width = maze.getWidth();
+		int rowWidth = getWidth();
+		if (row < 0 || row >= getHeight()) {
+			throw new IllegalArgumentException("Row outside the picture, got " + row);
+		}
+		if (row == 0 || row == getHeight()-1) {
+			fillRow(pixels, rowWidth, WALL);
+			return;
+		}
+		int y = (row - 1) / 2;
+		pixels[0] = WALL;
+		if (row % 2 == 1) {
+			// Row through the nodes, with the walls to the east of them
+			for (int x = 0; x < width; x++) {
+				pixels[2*x + 1] = (byte) maze.getNodeValue(x, y);
+				pixels[2*x + 2] = x == width-1 || maze.hasEastWall(x, y) ? WALL 
+								  : passage(x, y, x+1, y);
+			}
+		} else {
+			// Row between the nodes, with the walls to the south of them and the corners
+			for (int x = 0; x < width; x++) {
+				pixels[2*x + 1] = maze.hasSouthWall(x, y) ? WALL : passage(x, y, x, y+1);
+				pixels[2*x + 2] = WALL;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a single pixel of the picture, without rasterizing its row.
+	 * @param px column of the pixel, between 0 and getWidth()-1
+	 * @param py row of the pixel, between 0 and getHeight()-1
+	 * @return WALL, CORRIDOR, PATH, or the value of the node at the pixel
+	 */
+	public int getPixel(int px, int py) {
+		if (px < 0 || py < 0 || px >= getWidth() || py >= getHeight()) {
+			throw new IllegalArgumentException("Pixel outside the picture, got (" + px + ", " 
+					+ py + ")");
+		}
+		if (px == 0 || py == 0 || px == getWidth()-1 || py == getHeight()-1) {
+			return WALL;
+		}
+		int x = (px - 1) / 2;
+		int y = (py - 1) / 2;
+		if (px % 2 == 1) {
+			if (py % 2 == 1) {
+				return maze.getNodeValue(x, y);
+			}
+			return maze.hasSouthWall(x, y) ? WALL : passage(x, y, x, y+1);
+		}
+		if (py % 2 == 1) {
+			return maze.hasEastWall(x, y) ? WALL : passage(x, y, x+1, y);
+		}
+		// Corners between four nodes are always walls
+		return WALL;
+	}
+
+	/**
+	 * Returns the value of the open passage between two neighbouring nodes, PATH if both
+	 * nodes are on the path and CORRIDOR otherwise.
+	 */
+	private byte passage(int x1, int y1, int x2, int y2) {
+		return maze.getNodeValue(x1, y1) == PATH && maze.getNodeValue(x2, y2) == PATH ? PATH 
+				: CORRIDOR;
+	}
+
+	private static void fillRow(byte[] pixels, int length, byte value) {
+		for (int i = 0; i < length; i++) {
+			pixels[i] = value;
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package mazeExport;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import datatypes.Maze;
+
+public class MazeTextWriter {
+
+	/**
+	 * Writes the maze as text in the same layout as MazeDrawer.bitmapToString: one line per
+	 * row of pixels, with the value of every pixel followed by a space. The rows are written 
+	 * one at a time, so the size of the maze is not limited by memory.
+	 * @param maze to write
+	 * @param out writer receiving the text, which is not closed
+	 * @throws IOException if the writer fails
+	 */
+	public static void write(Maze maze, Writer out) throws IOException {
+		MazeRasterizer rasterizer = new MazeRasterizer(maze);
+		int width = rasterizer.getWidth();
+		byte[] pixels = new byte[width];
+		char[] line = new char[2 * width + 1];
+		for (int row = 0; row < rasterizer.getHeight(); row++) {
+			rasterizer.rasterRow(row, pixels);
+			for (int x = 0; x < width; x++) {
+				line[2*x] = (char) ('0' + pixels[x]);
+				line[2*x + 1] = ' ';
+			}
+			line[2 * width] = '\n';
+			out.write(line);
+		}
+	}
+
+}
@@ -15,7 +15,8 @@ public class ActionListenerGenerate implements ActionListener {
 
 	/**
 	 * Creates an action listener for the generate-button and starts the 
-	 * generation algorithm when this button is clicked
+	 * generation algorithm when this button is clicked, or the solver when the 
+	 * solve-button is clicked
 	 * @param drawer, the MazeDrawer class drawing the maze on the canvas
 	 * @param generator, the main program class to call from the worker thread
 	 */
@@ -25,8 +26,8 @@ public class ActionListenerGenerate implements ActionListener {
 	}
 
 	/**
-	 * Creates a SwingWorker to generate the maze in the worker thread and keep UI on the 
-	 * EDT. This keeps the UI from freezing when the maze is being generated.
+	 * Creates a SwingWorker to generate or solve the maze in the worker thread and keep UI
+	 * on the EDT. This keeps the UI from freezing when the maze is being generated.
 	 */
 	@Override
 	public void actionPerformed(ActionEvent e) {
@@ -43,7 +44,10 @@ public class ActionListenerGenerate implements ActionListener {
 			}
 			drawer.resetTime();
 			drawer.hideTime();
+			drawer.hideMetrics();
 			drawer.activateGenerationBtn();
+		} else if (command.equals("solve")) {
+			new SwingWorkerSolve(generator).execute();
 		}
 	}
 	
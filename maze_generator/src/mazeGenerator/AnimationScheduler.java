@@ -0,0 +1,114 @@
+package mazeGenerator;
+
+import datatypes.Maze;
+
+public class AnimationScheduler {
+
+	public static final int DEFAULT_FPS = 60;
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private final long frameNanos;
+	private final long stepNanos;
+	private long start;
+	private long nextFrame;
+	private long steps;
+	private long frames;
+
+	/**
+	 * Constructs a scheduler which paces the steps of an animated generation and decides when
+	 * a frame is drawn, such that the speed of the generation does not depend on how fast
+	 * the frames can be drawn. Every frame shows the latest state of the maze, so when the
+	 * steps are faster than the frames, many steps are shown at once, and when drawing falls
+	 * behind, the frames which are already late are skipped rather than drawn in a burst.
+	 * @param framesPerSecond number of frames to draw per second at most, 0 for DEFAULT_FPS
+	 * @param stepNanos time each step should take in nanoseconds, 0 to run the steps as fast
+	 * 		  as possible
+	 */
+	public AnimationScheduler(int framesPerSecond, long stepNanos) {
+		if (framesPerSecond < 0 || stepNanos < 0) {
+			throw new IllegalArgumentException("Frame rate and step time must be non-negative, got "
+					+ framesPerSecond + " fps and " + stepNanos + "ns");
+		}
+		this.frameNanos = NANOS_PER_SECOND / (framesPerSecond > 0 ? framesPerSecond : DEFAULT_FPS);
+		this.stepNanos = stepNanos;
+		start();
+	}
+
+	/**
+	 * Creates a scheduler where every step takes the given delay.
+	 * @param framesPerSecond number of frames to draw per second at most, 0 for DEFAULT_FPS
+	 * @param delayMillis time each step should take in milliseconds
+	 * @return the scheduler
+	 */
+	public static AnimationScheduler forDelay(int framesPerSecond, int delayMillis) {
+		return new AnimationScheduler(framesPerSecond, delayMillis * NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Creates a scheduler which spreads the given number of steps over the given duration,
+	 * such that the animation takes about as long no matter how large the maze is.
+	 * @param framesPerSecond number of frames to draw per second at most, 0 for DEFAULT_FPS
+	 * @param durationMillis time the whole animation should take in milliseconds
+	 * @param steps number of steps the animation is expected to have
+	 * @return the scheduler
+	 */
+	public static AnimationScheduler forDuration(int framesPerSecond, long durationMillis,
+												 long steps) {
+		return new AnimationScheduler(framesPerSecond,
+									  durationMillis * NANOS_PER_MILLI / Math.max(1, steps));
+	}
+
+	/**
+	 * Starts the clock over, counting the steps and frames from zero.
+	 */
+	public void start() {
+		start = System.nanoTime();
+		nextFrame = start;
+		steps = 0;
+		frames = 0;
+	}
+
+	/**
+	 * Is called after every step of the generation. Draws a frame if one is due, and waits
+	 * if the generation is ahead of its pace. Waiting only happens once a frame worth of
+	 * steps is done, so steps shorter than a frame do not sleep one by one.
+	 * @param listener receiving the frames
+	 * @param maze being generated
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void step(GenerationListener listener, Maze maze) throws InterruptedException {
+		steps++;
+		long now = System.nanoTime();
+		// Earliest time the next step may run
+		long ready = start + steps * stepNanos;
+		if (now - nextFrame < 0 && ready - nextFrame < 0) {
+			return;
+		}
+		listener.update(maze);
+		frames++;
+		if (ready - now > 0) {
+			long wait = ready - now;
+			Thread.sleep(wait / NANOS_PER_MILLI, (int) (wait % NANOS_PER_MILLI));
+			now = ready;
+		}
+		nextFrame = now + frameNanos;
+	}
+
+	/**
+	 * Returns the number of steps since the start.
+	 * @return long amount of steps
+	 */
+	public long getStepCount() {
+		return steps;
+	}
+
+	/**
+	 * Returns the number of frames drawn since the start.
+	 * @return long amount of frames
+	 */
+	public long getFrameCount() {
+		return frames;
+	}
+
+}
@@ -0,0 +1,34 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+
+import datatypes.Maze;
+
+public class BinaryTreeEngine extends RowBandEngine {
+
+	/**
+	 * Constructs the Binary Tree algorithm, where every cell opens either its east or its south
+	 * wall. Cells in the last column can only go south and cells in the last row can only go
+	 * east, so every cell has a path down to the bottom right corner.
+	 * @param maze to carve the passages in
+	 * @param seed from which the random stream of every band is derived
+	 */
+	public BinaryTreeEngine(Maze maze, long seed) {
+		super(maze, seed);
+	}
+
+	@Override
+	protected void carveRow(int y, SplittableRandom rnd) {
+		if (y == height-1) {
+			for (int x = 0; x < width-1; x++) {
+				maze.carveConcurrently(x, y, Maze.EAST);
+			}
+			return;
+		}
+		for (int x = 0; x < width-1; x++) {
+			maze.carveConcurrently(x, y, rnd.nextBoolean() ? Maze.EAST : Maze.SOUTH);
+		}
+		maze.carveConcurrently(width-1, y, Maze.SOUTH);
+	}
+
+}
@@ -0,0 +1,120 @@
+package mazeGenerator;
+
+import java.util.Random;
+
+import datatypes.Maze;
+
+public class DFSEngine {
+
+	private final Maze maze;
+	private final Random rnd;
+	private final int width, cellCount;
+	private final long[] visited;
+	private int[] stack = new int[1024];
+	private int top = 0;
+
+	/**
+	 * Constructs a randomized depth first search which carves passages in the given maze. The
+	 * maze is expected to have all its walls. The engine keeps its own stack of cell ids and its
+	 * own visited bitset, so a step does not allocate anything unless the stack has to grow.
+	 * @param maze to carve the passages in
+	 * @param rnd, of type java.util.Random, used to pick the next direction
+	 */
+	public DFSEngine(Maze maze, Random rnd) {
+		this.maze = maze;
+		this.rnd = rnd;
+		this.width = maze.getWidth();
+		this.cellCount = maze.getCellCount();
+		this.visited = new long[(cellCount + 63) >>> 6];
+	}
+
+	/**
+	 * Starts the search in the given cell, marking it as visited.
+	 * @param cell id of the starting cell
+	 */
+	public void start(int cell) {
+		visit(cell);
+		push(cell);
+	}
+
+	/**
+	 * Runs the search until the next wall is carved, backtracking as needed. The direction is
+	 * chosen with a single call to the random generator among the unvisited neighbours, taken in
+	 * the order WEST, EAST, NORTH, SOUTH.
+	 * @return cell id of the newly visited cell, or -1 if the maze is finished
+	 */
+	public int step() {
+		while (top > 0) {
+			int cell = stack[top-1];
+			int x = cell % width;
+			// Bit d of the mask is set if the neighbour in direction d is unvisited
+			int unvisited = 0;
+			int count = 0;
+			if (x > 0 && !isVisited(cell - 1)) {
+				unvisited |= 1 << Maze.WEST;
+				count++;
+			}
+			if (x < width-1 && !isVisited(cell + 1)) {
+				unvisited |= 1 << Maze.EAST;
+				count++;
+			}
+			if (cell >= width && !isVisited(cell - width)) {
+				unvisited |= 1 << Maze.NORTH;
+				count++;
+			}
+			if (cell < cellCount - width && !isVisited(cell + width)) {
+				unvisited |= 1 << Maze.SOUTH;
+				count++;
+			}
+			if (count == 0) {
+				top--;
+				continue;
+			}
+			// Drop the lowest set bits until the chosen one is the lowest
+			for (int skip = rnd.nextInt(count); skip > 0; skip--) {
+				unvisited &= unvisited - 1;
+			}
+			int dir = Integer.numberOfTrailingZeros(unvisited);
+			int chosen = maze.carve(cell, dir);
+			visit(chosen);
+			push(chosen);
+			return chosen;
+		}
+		return -1;
+	}
+
+	/**
+	 * Runs the search until every cell reachable from the start has been visited.
+	 * @return number of cells carved into
+	 */
+	public int run() {
+		int carved = 0;
+		while (step() >= 0) {
+			carved++;
+		}
+		return carved;
+	}
+
+	/**
+	 * Checks whether the search has visited the given cell.
+	 * @param cell id
+	 * @return true if the cell has been visited
+	 */
+	public boolean isVisited(int cell) {
+		return (visited[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	private void visit(int cell) {
+		visited[cell >>> 6] |= 1L << cell;
+	}
+
+	private void push(int cell) {
+		if (top == stack.length) {
+			int[] grown = new int[(int) Math.min(cellCount, 2L * stack.length)];
+			System.arraycopy(stack, 0, grown, 0, top);
+			stack = grown;
+		}
+		stack[top++] = cell;
+	}
+
+}
@@ -0,0 +1,214 @@
+package mazeGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class EllerEngine {
+
+	private final int width;
+	private final Random rnd;
+	// Set label of each cell in the current row, -1 if the cell is not in a set yet
+	private final int[] sets;
+	// Union-find over the set labels of the current row, labels are always below width
+	private final int[] parent;
+	private final boolean[] labelUsed;
+	// Per set label: number of cells seen, cells going down, and the fallback cell to go down
+	private final int[] setSize;
+	private final int[] setDown;
+	private final int[] setCandidate;
+	private final boolean[] eastWalls;
+	private final boolean[] southWalls;
+	private int row = 0;
+
+	/**
+	 * Constructs a generator for Eller's algorithm, which produces a maze one row at a time.
+	 * Only the set membership of the current row is kept, so memory use is O(width) no matter
+	 * how many rows are generated.
+	 * @param width of the maze in nodes
+	 * @param rnd, of type java.util.Random, used for every random choice
+	 */
+	public EllerEngine(int width, Random rnd) {
+		if (width < 1) {
+			throw new IllegalArgumentException("Width must be positive, got " + width);
+		}
+		this.width = width;
+		this.rnd = rnd;
+		this.sets = new int[width];
+		this.parent = new int[width];
+		this.labelUsed = new boolean[width];
+		this.setSize = new int[width];
+		this.setDown = new int[width];
+		this.setCandidate = new int[width];
+		this.eastWalls = new boolean[width];
+		this.southWalls = new boolean[width];
+		Arrays.fill(sets, -1);
+	}
+
+	/**
+	 * Returns the width of the rows, measured in nodes.
+	 * @return width in nodes
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the number of rows generated so far, which is also the index of the next row.
+	 * @return number of generated rows
+	 */
+	public int getRowCount() {
+		return row;
+	}
+
+	/**
+	 * Generates the next row. Afterwards its walls can be read with hasEastWall and
+	 * hasSouthWall until the next call.
+	 * @param lastRow true if this is the final row, in which case every set still apart is
+	 * 		  joined so that the maze is closed off as a perfect maze
+	 */
+	public void nextRow(boolean lastRow) {
+		assignNewSets();
+		joinHorizontally(lastRow);
+		if (lastRow) {
+			Arrays.fill(southWalls, false);
+		} else {
+			joinVertically();
+		}
+		row++;
+	}
+
+	/**
+	 * Checks whether the last generated row has a wall between (x, y) and (x+1, y).
+	 * @param x coordinate of the node in the row
+	 * @return true if there is a wall to the east of the node, always false for the last node
+	 */
+	public boolean hasEastWall(int x) {
+		return eastWalls[x];
+	}
+
+	/**
+	 * Checks whether the last generated row has a wall between (x, y) and (x, y+1).
+	 * @param x coordinate of the node in the row
+	 * @return true if there is a wall to the south of the node, always false in the last row
+	 */
+	public boolean hasSouthWall(int x) {
+		return southWalls[x];
+	}
+
+	/**
+	 * Generates the next row and passes it to the given sink.
+	 * @param lastRow true if this is the final row of the maze
+	 * @param sink receiving the row
+	 * @throws IOException if the sink fails to write the row
+	 */
+	public void nextRow(boolean lastRow, MazeRowSink sink) throws IOException {
+		nextRow(lastRow);
+		sink.acceptRow(row-1, eastWalls, southWalls);
+	}
+
+	/**
+	 * Generates a maze of the given height, passing every row to the given sink as soon as it
+	 * is finished.
+	 * @param height of the maze in nodes
+	 * @param sink receiving the rows
+	 * @throws IOException if the sink fails to write a row
+	 */
+	public void generate(int height, MazeRowSink sink) throws IOException {
+		for (int y = 0; y < height; y++) {
+			nextRow(y == height-1, sink);
+		}
+	}
+
+	/**
+	 * Gives every cell which did not get a passage from the row above its own new set.
+	 */
+	private void assignNewSets() {
+		Arrays.fill(labelUsed, false);
+		for (int x = 0; x < width; x++) {
+			if (sets[x] >= 0) {
+				labelUsed[sets[x]] = true;
+			}
+		}
+		int label = 0;
+		for (int x = 0; x < width; x++) {
+			if (sets[x] < 0) {
+				while (labelUsed[label]) {
+					label++;
+				}
+				labelUsed[label] = true;
+				sets[x] = label;
+			}
+		}
+		for (int i = 0; i < width; i++) {
+			parent[i] = i;
+		}
+	}
+
+	/**
+	 * Randomly joins neighbouring cells in different sets. In the last row every pair of
+	 * neighbouring cells in different sets is joined.
+	 */
+	private void joinHorizontally(boolean lastRow) {
+		for (int x = 0; x < width-1; x++) {
+			int a = find(sets[x]);
+			int b = find(sets[x+1]);
+			if (a != b && (lastRow || rnd.nextBoolean())) {
+				parent[b] = a;
+				eastWalls[x] = false;
+			} else {
+				eastWalls[x] = true;
+			}
+		}
+		eastWalls[width-1] = false;
+		for (int x = 0; x < width; x++) {
+			sets[x] = find(sets[x]);
+		}
+	}
+
+	/**
+	 * Randomly carves passages down to the next row, at least one for every set, and carries
+	 * the sets of those cells over to the next row.
+	 */
+	private void joinVertically() {
+		for (int x = 0; x < width; x++) {
+			int set = sets[x];
+			setSize[set] = 0;
+			setDown[set] = 0;
+		}
+		for (int x = 0; x < width; x++) {
+			int set = sets[x];
+			setSize[set]++;
+			// Keep a uniformly chosen cell of the set, in case none of them goes down
+			if (rnd.nextInt(setSize[set]) == 0) {
+				setCandidate[set] = x;
+			}
+			boolean down = rnd.nextBoolean();
+			southWalls[x] = !down;
+			if (down) {
+				setDown[set]++;
+			}
+		}
+		for (int x = 0; x < width; x++) {
+			int set = sets[x];
+			if (setDown[set] == 0) {
+				southWalls[setCandidate[set]] = false;
+				setDown[set]++;
+			}
+		}
+		for (int x = 0; x < width; x++) {
+			if (southWalls[x]) {
+				sets[x] = -1;
+			}
+		}
+	}
+
+	private int find(int label) {
+		while (parent[label] != label) {
+			parent[label] = parent[parent[label]];
+			label = parent[label];
+		}
+		return label;
+	}
+
+}
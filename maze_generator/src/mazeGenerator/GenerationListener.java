@@ -0,0 +1,23 @@
+package mazeGenerator;
+
+import datatypes.Maze;
+
+/**
+ * Receives the progress of a maze generator, and can stop it. The GUI uses a SwingWorker
+ * which draws every update, while headless callers can pass their own listener or none.
+ */
+public interface GenerationListener {
+
+	/**
+	 * Is checked by the generator every time the maze changes.
+	 * @return true if the generator should stop
+	 */
+	boolean isCancelled();
+
+	/**
+	 * Is called every time the maze changes, if the generation is animated.
+	 * @param maze being generated
+	 */
+	void update(Maze maze);
+
+}
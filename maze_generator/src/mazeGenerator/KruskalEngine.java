@@ -0,0 +1,230 @@
+package mazeGenerator;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import datatypes.ConcurrentUnionFind;
+import datatypes.Maze;
+
+public class KruskalEngine {
+
+	/** Number of walls filtered in parallel before the remaining ones are joined in order */
+	public static final int CHUNK_SIZE = 1 << 16;
+	// Ranges of this many rows or walls are handled by a single task
+	private static final int TASK_ROWS = 64;
+	private static final int TASK_WALLS = 4096;
+	private static final long WALL_MASK = 0x7FFFFFFFL;
+
+	private final Maze maze;
+	private final int width, height;
+	private final long seed;
+	private final ConcurrentUnionFind sets;
+	private long[] keys;
+	// Progress of joinChunk through the sorted walls
+	private int joined;
+	private int remaining;
+	private boolean filter;
+
+	/**
+	 * Constructs the randomized Kruskal's algorithm. Every interior wall gets a random key
+	 * derived from the seed and the wall id, and the walls are then opened in order of their
+	 * keys whenever they divide two cells which are not yet connected. The maze only depends
+	 * on the seed, whatever the number of threads used. The maze is expected to have all its 
+	 * walls.
+	 * @param maze to carve the passages in
+	 * @param seed from which the order of the walls is derived
+	 */
+	public KruskalEngine(Maze maze, long seed) {
+		int cellCount = maze.getCellCount();
+		// Wall ids must fit in the low 31 bits of a key
+		if (cellCount > Integer.MAX_VALUE / 2) {
+			throw new IllegalArgumentException("Maze is too large for Kruskal's algorithm, got "
+					+ cellCount + " cells");
+		}
+		this.maze = maze;
+		this.width = maze.getWidth();
+		this.height = maze.getHeight();
+		this.seed = seed;
+		this.sets = new ConcurrentUnionFind(cellCount);
+	}
+
+	/**
+	 * Returns the number of interior walls, which is the number of walls sorted by sortWalls.
+	 * @return amount of interior walls
+	 */
+	public int getWallCount() {
+		return (height - 1) * (2 * width - 1) + width - 1;
+	}
+
+	/**
+	 * Gives every interior wall its random key and sorts the walls by key, using the threads of
+	 * the given pool. Must be called before join or joinChunk.
+	 * @param pool of type ForkJoinPool
+	 */
+	public void sortWalls(ForkJoinPool pool) {
+		joined = 0;
+		remaining = maze.getCellCount() - 1;
+		// Early on nearly every wall is opened, so filtering only pays off once walls get dropped
+		filter = false;
+		keys = new long[getWallCount()];
+		pool.invoke(new KeyTask(0, height));
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				Arrays.parallelSort(keys);
+			}
+		});
+	}
+
+	/**
+	 * Returns the id of the i'th wall in sorted order, where the wall id is 2*cell for the wall
+	 * east of a cell and 2*cell+1 for the wall south of it.
+	 * @param i index of the wall, between 0 and getWallCount()-1
+	 * @return wall id
+	 */
+	public int getWall(int i) {
+		return (int) (keys[i] & WALL_MASK);
+	}
+
+	/**
+	 * Opens the given wall if the cells on either side of it are not yet connected.
+	 * @param wall id
+	 * @return true if the wall was opened
+	 */
+	public boolean join(int wall) {
+		int cell = wall >>> 1;
+		boolean east = (wall & 1) == 0;
+		if (!sets.union(cell, east ? cell + 1 : cell + width)) {
+			return false;
+		}
+		maze.carve(cell, east ? Maze.EAST : Maze.SOUTH);
+		return true;
+	}
+
+	/**
+	 * Sorts the walls and carves the whole maze, see joinChunk.
+	 * @param pool of type ForkJoinPool
+	 */
+	public void generate(ForkJoinPool pool) {
+		sortWalls(pool);
+		while (joinChunk(pool)) {
+			// Keep joining
+		}
+	}
+
+	/**
+	 * Joins the next chunk of CHUNK_SIZE sorted walls. Once more than a quarter of the walls
+	 * of the previous chunk were dropped, the threads of the pool first drop every wall of the
+	 * chunk between cells which are already connected. The walls left are then joined in 
+	 * order by a single thread, so the result is the same as if every wall was joined in 
+	 * order. Must be called after sortWalls.
+	 * @param pool of type ForkJoinPool
+	 * @return true if there are walls left to join, false when the maze is finished
+	 */
+	public boolean joinChunk(ForkJoinPool pool) {
+		int wallCount = keys.length;
+		if (joined >= wallCount || remaining == 0) {
+			return false;
+		}
+		int from = joined;
+		int to = Math.min(wallCount, from + CHUNK_SIZE);
+		if (filter) {
+			pool.invoke(new FilterTask(from, to));
+		}
+		int dropped = 0;
+		for (int i = from; i < to; i++) {
+			if (keys[i] >= 0 && join(getWall(i))) {
+				remaining--;
+			} else {
+				dropped++;
+			}
+		}
+		filter = dropped * 4 > to - from;
+		joined = to;
+		return joined < wallCount && remaining > 0;
+	}
+
+	/**
+	 * Random key of a wall, the random bits above the wall id in the low 31 bits
+	 */
+	private long key(int wall) {
+		long z = seed + (wall + 1L) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		z ^= z >>> 33;
+		return ((z >>> 33) << 31) | wall;
+	}
+
+	/**
+	 * Writes the keys of the interior walls of a range of rows.
+	 */
+	private class KeyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final int fromRow, toRow;
+
+		KeyTask(int fromRow, int toRow) {
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected void compute() {
+			if (toRow - fromRow > TASK_ROWS) {
+				int mid = (fromRow + toRow) >>> 1;
+				invokeAll(new KeyTask(fromRow, mid), new KeyTask(mid, toRow));
+				return;
+			}
+			for (int y = fromRow; y < toRow; y++) {
+				int i = y * (2 * width - 1);
+				int cell = y * width;
+				for (int x = 0; x < width; x++, cell++) {
+					if (x < width-1) {
+						keys[i++] = key(2 * cell);
+					}
+					if (y < height-1) {
+						keys[i++] = key(2 * cell + 1);
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Marks the walls in a range of sorted walls which divide connected cells, by making their
+	 * keys negative.
+	 */
+	private class FilterTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final int from, to;
+
+		FilterTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > TASK_WALLS) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new FilterTask(from, mid), new FilterTask(mid, to));
+				return;
+			}
+			for (int i = from; i < to; i++) {
+				int wall = getWall(i);
+				int cell = wall >>> 1;
+				int other = (wall & 1) == 0 ? cell + 1 : cell + width;
+				if (sets.sameSet(cell, other)) {
+					keys[i] = -1;
+				}
+			}
+		}
+
+	}
+
+}
@@ -5,6 +5,7 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.Insets;
 import java.awt.KeyEventDispatcher;
@@ -17,7 +18,6 @@ import java.awt.event.FocusListener;
 import java.awt.event.KeyEvent;
 import java.text.NumberFormat;
 import java.text.ParseException;
-import java.util.Arrays;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -36,14 +36,18 @@ import javax.swing.event.ChangeListener;
 import javax.swing.text.NumberFormatter;
 
 import datatypes.Maze;
-import datatypes.Node;
+import datatypes.MazeDelta;
 import datatypes.Wall;
+import mazeExport.MazeRasterizer;
+import metrics.MazeMetricsReport;
 import program.MazeGenerator;
 import program.MazeType;
+import solver.SolverType;
 
 public class MazeDrawer {
 	
-	public static final int maxDimension = 200;
+	public static final int maxDimension = 20000;
+	public static final int minCanvasSize = 200;
 	public static final int settingsWidth = 350;
 	public static final int sliderMax = 100;
 	private int width, height;
@@ -54,6 +58,7 @@ public class MazeDrawer {
 	private MazeDrawerCanvas canvas;
 	private JButton btnGenerate;
 	private JButton btnAbort;
+	private JButton btnSolve;
 	private JFormattedTextField seed;
 	private JFormattedTextField widthInput;
 	private JFormattedTextField heightInput;
@@ -62,6 +67,8 @@ public class MazeDrawer {
 	private JSlider animationSlider;
 	private JPanel timerPanel;
 	private JLabel labelTimer;
+	private JPanel metricsPanel;
+	private JLabel labelDeadEnds, labelJunctions, labelCorridors, labelDiameter, labelRiver;
 	
 	private MazeGenerator generator;
 	
@@ -98,10 +105,10 @@ public class MazeDrawer {
 		this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		
 		// Calculate some needed values
-		int blocksize = calculateBlocksize(widthInBlocks, heightInBlocks);
+		double scale = calculateScale(widthInBlocks, heightInBlocks);
 		
-		this.width = calculateWidth(widthInBlocks, blocksize);	// width in pixels
-		this.height = calculateHeight(heightInBlocks, blocksize); // height in pixels
+		this.width = calculateWidth(widthInBlocks, scale);	// width in pixels
+		this.height = calculateHeight(heightInBlocks, scale); // height in pixels
 		
 		// Put window in the center of the screen
 		centerScreen();
@@ -111,7 +118,7 @@ public class MazeDrawer {
 		
 		
 		// Initialize the canvas
-		initCanvas(blocksize, blocksize);
+		initCanvas(scale);
 		
 		// Initialize the settings panel
 		initSettingsPanel();
@@ -143,14 +150,12 @@ public class MazeDrawer {
 	
 	/**
 	 * Resizes the canvas to fit the current width and heigth of the program
-	 * @param blocksize
-	 * @param wallWidth
+	 * @param scale number of pixels per block
 	 */
-	private void resize(int blocksize, int wallWidth) {
+	private void resize(double scale) {
 		this.canvas.setSize(width, height);
 		this.canvas.setPreferredSize(new Dimension(width, height));
-		this.canvas.setBlocksize(blocksize);
-		this.canvas.setWallWidth(wallWidth);
+		this.canvas.setScale(scale);
 		this.settingsPanel.setSize(settingsWidth, height);
 		this.settingsPanel.setPreferredSize(new Dimension(settingsWidth, height));
 		this.frame.pack();
@@ -179,10 +184,12 @@ public class MazeDrawer {
 		addSeedCheckBox(settingsGrid, i); i++;
 		addUseAnimation(settingsGrid, i); i++;
 		addAnimationSpeedSlider(settingsGrid, i); i++;
+		addSolverSelection(settingsGrid, i); i++;
 
 		this.settingsPanel.add(settingsGrid);
 
 		addTimerPanel(settingsGrid);
+		addMetricsPanel(settingsGrid);
 		addControlPanel(settingsGrid);
 
 		this.container.add(settingsPanel);
@@ -217,6 +224,35 @@ public class MazeDrawer {
 		settingsGrid.setAlignmentY(Component.TOP_ALIGNMENT);
 	}
 	
+	/**
+	 * Add the option to select the algorithm used for solving the maze. A dropdown list of 
+	 * solvers.
+	 * @param settingsGrid
+	 * @param line number for where to put boxes in the grid
+	 */
+	private void addSolverSelection(JPanel settingsGrid, int line) {
+		GridBagConstraints c = getDefaultConstraints();
+		c.gridx = 0;
+		c.gridy = line;
+		settingsGrid.add(new JLabel("Solver:"), c);
+		String[] solvers = new String[SolverType.values().length];
+		for (int i = 0; i < solvers.length; i++) {
+			solvers[i] = SolverType.values()[i].toString();
+		}
+		JComboBox<String> cbSolvers = new JComboBox<String>(solvers);
+		cbSolvers.setSelectedItem(generator.getSolverType().toString());
+		cbSolvers.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				String selectedItem = (String) cbSolvers.getSelectedItem();
+				generator.setSolverType(SolverType.parseString(selectedItem));
+			}
+		});
+		c.gridx = 1;
+		c.gridy = line;
+		settingsGrid.add(cbSolvers, c);
+	}
+	
 	/**
 	 * Add width and height input boxes
 	 * @param settingsGrid
@@ -351,6 +387,33 @@ public class MazeDrawer {
 		this.settingsPanel.add(timerPanel);
 	}
 	
+	/**
+	 * Add the panel showing the metrics of the last generated maze to the UI
+	 * @param settingsPanel
+	 */
+	private void addMetricsPanel(JPanel settingsPanel) {
+		this.metricsPanel = new JPanel(new GridLayout(0, 2));
+		this.labelDeadEnds = addMetric("Dead ends:");
+		this.labelJunctions = addMetric("Junctions:");
+		this.labelCorridors = addMetric("Corridors:");
+		this.labelDiameter = addMetric("Longest path:");
+		this.labelRiver = addMetric("River factor:");
+		metricsPanel.setVisible(false);
+		this.settingsPanel.add(metricsPanel);
+	}
+	
+	/**
+	 * Adds a line with the given name and an empty value to the metrics panel
+	 * @param name of the metric
+	 * @return JLabel showing the value of the metric
+	 */
+	private JLabel addMetric(String name) {
+		metricsPanel.add(new JLabel(name));
+		JLabel value = new JLabel("");
+		metricsPanel.add(value);
+		return value;
+	}
+	
 	/**
 	 * Add the control panel with start and stop buttons to the UI
 	 * @param settingsPanel
@@ -365,6 +428,11 @@ public class MazeDrawer {
 		this.btnAbort.setAlignmentX(Component.CENTER_ALIGNMENT);
 		this.btnAbort.setActionCommand("stop");
 		controlPanel.add(btnAbort);
+		this.btnSolve = new JButton("Solve!");
+		this.btnSolve.setAlignmentX(Component.CENTER_ALIGNMENT);
+		this.btnSolve.setActionCommand("solve");
+		this.btnSolve.setEnabled(false);
+		controlPanel.add(btnSolve);
 		this.settingsPanel.add(controlPanel);
 	}
 	
@@ -466,10 +534,10 @@ public class MazeDrawer {
 		this.widthInput.setValue(widthInBlocks);
 		this.heightInput.setValue(heightInBlocks);
 		if (dimChanged) {
-			int blocksize = calculateBlocksize(widthInBlocks, heightInBlocks);
-			this.width = calculateWidth(widthInBlocks, blocksize);	// width in pixels
-			this.height = calculateHeight(heightInBlocks, blocksize); // height in pixels
-			resize(blocksize, blocksize);
+			double scale = calculateScale(widthInBlocks, heightInBlocks);
+			this.width = calculateWidth(widthInBlocks, scale);	// width in pixels
+			this.height = calculateHeight(heightInBlocks, scale); // height in pixels
+			resize(scale);
 		}
 	}
 	
@@ -559,11 +627,10 @@ public class MazeDrawer {
 	
 	/**
 	 * Initializes the mazeCanvas with given sizes
-	 * @param blocksize, an integer, the width in pixels of each corridor
-	 * @param wallWidth, an integer, the width in pixels of each wall
+	 * @param scale, the width in pixels of each corridor and wall
 	 */
-	private void initCanvas(int blocksize, int wallWidth) {
-		this.canvas = new MazeDrawerCanvas(blocksize, wallWidth);
+	private void initCanvas(double scale) {
+		this.canvas = new MazeDrawerCanvas(scale);
 		this.canvas.setSize(width, height);
 		this.canvas.setPreferredSize(new Dimension(width, height));
 		this.container.add(this.canvas);
@@ -584,12 +651,14 @@ public class MazeDrawer {
 	}
 	
 	/**
-	 * Calculate the size in pixels for each block on the screen, i.e. corridor width/height
+	 * Calculate the size in pixels for each block on the screen, i.e. corridor width/height.
+	 * Whole pixels are used when the maze fits on the screen with at least one pixel per 
+	 * block, otherwise the maze is scaled down to fit and can be zoomed into on the canvas.
 	 * @param widthInBlocks
 	 * @param heightInBlocks
-	 * @return blocksize, an integer
+	 * @return scale, pixels per block
 	 */
-	private int calculateBlocksize(int widthInBlocks, int heightInBlocks) {
+	private double calculateScale(int widthInBlocks, int heightInBlocks) {
 		int screenWidth = Toolkit.getDefaultToolkit().getScreenSize().width;
 		int screenHeight = Toolkit.getDefaultToolkit().getScreenSize().height;
 		
@@ -606,31 +675,36 @@ public class MazeDrawer {
 				blocksizeFromWidth < blocksizeFromHeight) {
 			blocksize = blocksizeFromWidth;
 		}
-		return blocksize;
+		if (blocksize >= 1) {
+			return blocksize;
+		}
+		return Math.min((double) preferredWidth/actualWidthInBlocks, 
+						(double) preferredHeight/actualHeightInBlocks);
 	}
 
 	/**
-	 * Calculate the width of the maze canvas in pixels
+	 * Calculate the width of the maze canvas in pixels, which is at least minCanvasSize 
+	 * such that very narrow mazes can still be zoomed into
 	 * @param widthInBlocks
-	 * @param blocksize
+	 * @param scale pixels per block
 	 * @return width, an integer
 	 */
-	private int calculateWidth(int widthInBlocks, int blocksize) {
+	private int calculateWidth(int widthInBlocks, double scale) {
 		int actualWidthInBlocks = widthInBlocks*2-1 + 2;
-		int width = actualWidthInBlocks*blocksize;	// width in pixels
-		return width;
+		int width = (int) Math.ceil(actualWidthInBlocks*scale);	// width in pixels
+		return Math.max(minCanvasSize, width);
 	}
 	
 	/**
-	 * Calculate the height of the maze canvas in pixels
+	 * Calculate the height of the maze canvas in pixels, at least minCanvasSize
 	 * @param heightInBlocks
-	 * @param blocksize
+	 * @param scale pixels per block
 	 * @return height, an integer
 	 */
-	private int calculateHeight(int heightInBlocks, int blocksize) {
+	private int calculateHeight(int heightInBlocks, double scale) {
 		int actualHeightInBlocks = heightInBlocks*2-1 + 2;
-		int height = actualHeightInBlocks*blocksize; // height in pixels
-		return height;
+		int height = (int) Math.ceil(actualHeightInBlocks*scale); // height in pixels
+		return Math.max(minCanvasSize, height);
 	}
 	
 	/**
@@ -639,6 +713,7 @@ public class MazeDrawer {
 	public void deactivateGenerationBtn() {
 		btnGenerate.setEnabled(false);
 		btnAbort.setEnabled(true);
+		btnSolve.setEnabled(false);
 	}
 	
 	/**
@@ -647,6 +722,23 @@ public class MazeDrawer {
 	public void activateGenerationBtn() {
 		btnGenerate.setEnabled(true);
 		btnAbort.setEnabled(false);
+		btnSolve.setEnabled(true);
+	}
+	
+	/**
+	 * Deactivates the buttons to generate and solve mazes while a maze is being solved.
+	 */
+	public void deactivateSolveBtn() {
+		btnGenerate.setEnabled(false);
+		btnSolve.setEnabled(false);
+	}
+	
+	/**
+	 * Activates the buttons to generate and solve mazes after a maze has been solved.
+	 */
+	public void activateSolveBtn() {
+		btnGenerate.setEnabled(true);
+		btnSolve.setEnabled(true);
 	}
 	
 	/**
@@ -681,6 +773,38 @@ public class MazeDrawer {
 		frame.pack();
 	}
 	
+	/**
+	 * Shows the metrics of the last generated maze next to the elapsed time
+	 * @param report with the metrics of the maze
+	 */
+	public void showMetrics(MazeMetricsReport report) {
+		onEventThread(new Runnable() {
+			@Override
+			public void run() {
+				int width = report.getWidth();
+				labelDeadEnds.setText(Integer.toString(report.getDeadEndCount()));
+				labelJunctions.setText(Integer.toString(report.getJunctionCount()));
+				labelCorridors.setText(report.getCorridorCount() + String.format(", mean %.1f", 
+						report.getMeanCorridorLength()));
+				labelDiameter.setText(report.getDiameter() + " (" + report.getEntrance() % width 
+						+ ", " + report.getEntrance() / width + ") to (" 
+						+ report.getExit() % width + ", " + report.getExit() / width + ")");
+				labelRiver.setText(String.format("%.2f", report.getRiverFactor()));
+				metricsPanel.setVisible(true);
+				settingsPanel.revalidate();
+				frame.pack();
+			}
+		});
+	}
+	
+	/**
+	 * Hides the metrics of the last generated maze
+	 */
+	public void hideMetrics() {
+		metricsPanel.setVisible(false);
+		settingsPanel.revalidate();
+	}
+	
 	/**
 	 * Adds the appropriate action listeners for each UI element
 	 */
@@ -688,6 +812,7 @@ public class MazeDrawer {
 		ActionListenerGenerate alg = new ActionListenerGenerate(this, generator);
 		btnGenerate.addActionListener(alg);
 		btnAbort.addActionListener(alg);
+		btnSolve.addActionListener(alg);
 		randomCheckBox.addActionListener(new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
@@ -815,12 +940,12 @@ public class MazeDrawer {
 	 * Clears the canvas and sets it to the wall-color
 	 */
 	public void clearCanvas() {
-		int val = 1;
-		int[] col = new int[height];
-		Arrays.fill(col, val);
-		int[][] bitmap = new int[width][height];
-		Arrays.fill(bitmap, col);
-		updateMaze(bitmap);
+		onEventThread(new Runnable() {
+			@Override
+			public void run() {
+				canvas.clear();
+			}
+		});
 	}
 	
 	/**
@@ -829,6 +954,7 @@ public class MazeDrawer {
 	 * <ul>
 	 *  <li>0: a corridor in the maze</li>
 	 *  <li>1: a wall in the maze</li>
+	 *  <li>2: the solution path</li>
 	 * </ul>
 	 * @param maze instance with walls and nodes
 	 * @return bitmap of type int[][]
@@ -837,7 +963,8 @@ public class MazeDrawer {
 		int width = maze.getWidth()*2 - 1;
 		int height = maze.getHeight()*2 - 1;
 		int[][] bitmap = new int[width][height];
-		bitmap = addNodes(bitmap, maze.getNodesIterator());
+		bitmap = addNodes(bitmap, maze);
+		bitmap = addPathPassages(bitmap);
 		bitmap = addWalls(bitmap, maze.getWallsIterator());
 		bitmap = addCornerWalls(bitmap);
 		bitmap = addBorderWalls(bitmap);
@@ -846,16 +973,40 @@ public class MazeDrawer {
 
 	/**
 	 * Adds the nodes or 'rooms' in the maze with their given values.
-	 * If a node is not present in the given iterable, it is given the value of 0
+	 * Nodes which have not been given a value get the value 0.
 	 * @param bitmap of type int[][]
-	 * @param nodes iterable with the nodes from the maze with specified values
-	 * @return bitmap of type int[][] with the nodes as specified int the maze's node-collection
-	 */
-	public static int[][] addNodes(int[][] bitmap, Iterable<Node> nodes) {
-		for (Node node : nodes) {
-			int x = node.getX()*2;
-			int y = node.getY()*2;
-			bitmap[x][y] = node.getValue();
+	 * @param maze instance with the node values
+	 * @return bitmap of type int[][] with the nodes as specified by the maze's node values
+	 */
+	public static int[][] addNodes(int[][] bitmap, Maze maze) {
+		for (int y = 0; y < maze.getHeight(); y++) {
+			for (int x = 0; x < maze.getWidth(); x++) {
+				bitmap[x*2][y*2] = maze.getNodeValue(x, y);
+			}
+		}
+		return bitmap;
+	}
+	
+	/**
+	 * Marks the pixels between two neighbouring nodes on the path as path, such that the 
+	 * path is drawn as one line. Must be called before the walls are added, which overwrite
+	 * the pixels between nodes that are not connected.
+	 * @param bitmap of type int[][] with the nodes added
+	 * @return bitmap of type int[][] with the path between the nodes
+	 */
+	private static int[][] addPathPassages(int[][] bitmap) {
+		for (int y = 0; y < bitmap[0].length; y += 2) {
+			for (int x = 0; x < bitmap.length; x += 2) {
+				if (bitmap[x][y] != MazeRasterizer.PATH) {
+					continue;
+				}
+				if (x+2 < bitmap.length && bitmap[x+2][y] == MazeRasterizer.PATH) {
+					bitmap[x+1][y] = MazeRasterizer.PATH;
+				}
+				if (y+2 < bitmap[0].length && bitmap[x][y+2] == MazeRasterizer.PATH) {
+					bitmap[x][y+1] = MazeRasterizer.PATH;
+				}
+			}
 		}
 		return bitmap;
 	}
@@ -935,21 +1086,41 @@ public class MazeDrawer {
 	}
 	
 	/**
-	 * Updates the canvas with the given maze
+	 * Updates the canvas with the given maze. The canvas is updated on the event dispatch 
+	 * thread, after any updates already queued there.
 	 * @param maze, instance of Maze.
 	 */
 	public void updateMaze(Maze maze) {
-		int[][] bitmap = generateBitmap(maze);
-		updateMaze(bitmap);
+		onEventThread(new Runnable() {
+			@Override
+			public void run() {
+				canvas.setMaze(maze);
+			}
+		});
 	}
 	
 	/**
-	 * Updates the canvas with the given maze
-	 * @param maze bitmap of type int[][].
+	 * Updates the canvas with the changes made to the maze since the last update, redrawing
+	 * only the part of the canvas which changed. A full delta lists no changes, it only tells
+	 * that the whole maze changed, so the canvas draws the maze it already holds again as a 
+	 * whole. Must be called on the event dispatch thread.
+	 * @param delta changes to the maze since the last update
 	 */
-	public void updateMaze(int[][] bitmap) {
-		canvas.setBitmap(bitmap);
-		canvas.repaint();
+	public void applyDelta(MazeDelta delta) {
+		canvas.applyDelta(delta);
+	}
+	
+	/**
+	 * Runs the task right away when called on the event dispatch thread, and queues it on 
+	 * the event dispatch thread otherwise, since the canvas is only changed from there.
+	 * @param task to run
+	 */
+	private static void onEventThread(Runnable task) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			task.run();
+		} else {
+			SwingUtilities.invokeLater(task);
+		}
 	}
 	
 }
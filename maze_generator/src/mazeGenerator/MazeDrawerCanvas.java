@@ -2,67 +2,243 @@ package mazeGenerator;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.swing.JPanel;
 
-public class MazeDrawerCanvas extends JPanel { 
+import datatypes.Maze;
+import datatypes.MazeDelta;
+import mazeExport.MazeRasterizer;
+import metrics.MazeGenMetrics;
+
+public class MazeDrawerCanvas extends JPanel {
 
 	public static final Color wallColor = Color.BLACK;
+	public static final Color pathColor = new Color(0xE03030);
+	public static final Color corridorColor = Color.LIGHT_GRAY;
+	/** Width and height of a tile, in pixels of the tile image */
+	public static final int TILE_SIZE = 256;
 	private static final long serialVersionUID = 1L;
-	private int[][] bitmap;
-	private int blocksize = 5;
-	private int wallWidth = blocksize;
-	
+	private static final int MAX_CACHED_TILES = 256;
+	private static final double ZOOM_STEP = 1.25;
+	private static final double MAX_SCALE = 64;
+	// Palette indices 0 to 3 are the pixel values of the bitmap, followed by SHADES shades
+	// from corridor to wall used when a tile pixel covers several pixels of the maze
+	private static final int SHADE_INDEX = 4;
+	private static final int SHADES = 5;
+	private static final IndexColorModel palette = makePalette();
+
+	private Maze maze;
+	private MazeRasterizer rasterizer;
+	private boolean cleared = false;
+	// Screen pixels per pixel of the maze bitmap when the view is reset, and right now
+	private double fitScale = 5;
+	private double scale = fitScale;
+	// Pixel of the maze bitmap at the top left corner of the canvas
+	private double originX = 0, originY = 0;
+	private int highestLevel = 0;
+	// Time a whole maze was handed to the canvas, until it has been painted
+	private long renderStart;
+	private boolean renderPending = false;
+	private final Map<Long, BufferedImage> tiles =
+			new LinkedHashMap<Long, BufferedImage>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+			return size() > MAX_CACHED_TILES;
+		}
+	};
+	private int dragX, dragY;
+
 	/**
-	 * Constructs an instance of MazeDrawerCanvas which draws the maze
+	 * Constructs an instance of MazeDrawerCanvas which draws the maze. Only the part of the
+	 * maze which is in view is drawn, in tiles which are kept until they fall out of the
+	 * cache. The view can be zoomed with the mouse wheel, moved by dragging it with the mouse,
+	 * and reset by double clicking it.
 	 */
 	public MazeDrawerCanvas() {
-		setBackground(Color.LIGHT_GRAY);
+		setBackground(corridorColor);
+		MouseAdapter mouse = new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				dragX = e.getX();
+				dragY = e.getY();
+			}
+
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				pan(e.getX() - dragX, e.getY() - dragY);
+				dragX = e.getX();
+				dragY = e.getY();
+			}
+
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				if (e.getClickCount() == 2) {
+					resetView();
+				}
+			}
+
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				zoom(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+			}
+		};
+		addMouseListener(mouse);
+		addMouseMotionListener(mouse);
+		addMouseWheelListener(mouse);
 	}
 
 	/**
 	 * Constructs an instance of MazeDrawerCanvas which draws the maze
-	 * @param blocksize int indicating the width and height of a room or a hallway.
-	 * @param wallWidth int indicating the width of the walls.
+	 * @param scale number of screen pixels per block when the view is reset, below 1 if
+	 * 		  the maze does not fit on the screen otherwise
 	 */
-	public MazeDrawerCanvas(int blocksize, int wallWidth) {
+	public MazeDrawerCanvas(double scale) {
 		this();
-		this.blocksize = blocksize;
-		this.wallWidth = wallWidth;
+		setScale(scale);
 	}
-	
+
 	/**
-	 * Fetches the blocksize and returns it.
-	 * @return blocksize int indicating the width and height of a room or a hallway.
+	 * Fetches the number of screen pixels per block when the view is reset.
+	 * @return scale of the reset view
 	 */
-	public int getBlocksize() {
-		return blocksize;
+	public double getScale() {
+		return fitScale;
 	}
-	
-	public void setBlocksize(int blocksize) {
-		this.blocksize = blocksize;
+
+	/**
+	 * Sets the number of screen pixels per block when the view is reset, and resets the view.
+	 * @param scale positive number of pixels per block
+	 */
+	public void setScale(double scale) {
+		if (!(scale > 0)) {
+			throw new IllegalArgumentException("Scale must be positive, got " + scale);
+		}
+		this.fitScale = scale;
+		resetView();
 	}
-	
+
 	/**
-	 * Fetches the wallwidth and returns it.
-	 * @return wallwidth int indicating the width of the walls.
+	 * Shows the whole maze again at the scale set with setScale.
 	 */
-	public int getWallWidth() {
-		return wallWidth;
+	public void resetView() {
+		scale = fitScale;
+		originX = 0;
+		originY = 0;
+		repaint();
 	}
-	
-	public void setWallWidth(int wallWidth) {
-		this.wallWidth = wallWidth;
+
+	/**
+	 * Zooms the view by the given factor, keeping the point under the given canvas
+	 * coordinates in place.
+	 * @param x coordinate on the canvas
+	 * @param y coordinate on the canvas
+	 * @param factor above 1 to zoom in, below 1 to zoom out
+	 */
+	public void zoom(int x, int y, double factor) {
+		double mazeX = originX + x / scale;
+		double mazeY = originY + y / scale;
+		scale = Math.max(fitScale / 2, Math.min(MAX_SCALE, scale * factor));
+		originX = mazeX - x / scale;
+		originY = mazeY - y / scale;
+		repaint();
 	}
 
 	/**
-	 * Sets the bitmap which is to be drawn by the maze.
-	 * @param bitmap of type int[][] representing the maze.
+	 * Moves the view by the given number of canvas pixels.
+	 * @param dx pixels to move the maze to the right
+	 * @param dy pixels to move the maze down
 	 */
-	public void setBitmap(int[][] bitmap) {
-		this.bitmap = bitmap;
+	public void pan(int dx, int dy) {
+		originX -= dx / scale;
+		originY -= dy / scale;
+		repaint();
 	}
-	
+
+	/**
+	 * Sets the maze which is to be drawn. The maze is read again whenever a tile has to be
+	 * drawn, so changes to it show up after applyDelta or the next repaint of that part.
+	 * Must be called on the event dispatch thread.
+	 * @param maze instance with walls and nodes
+	 */
+	public void setMaze(Maze maze) {
+		this.maze = maze;
+		this.rasterizer = new MazeRasterizer(maze);
+		this.cleared = false;
+		tiles.clear();
+		highestLevel = 0;
+		renderStart = System.nanoTime();
+		renderPending = true;
+		repaint();
+	}
+
+	/**
+	 * Removes the maze from the canvas and fills the canvas with the wall color.
+	 */
+	public void clear() {
+		this.maze = null;
+		this.rasterizer = null;
+		this.cleared = true;
+		tiles.clear();
+		repaint();
+	}
+
+	/**
+	 * Draws the changes into the cached tiles and repaints the rectangle of blocks which
+	 * changed. A full delta has no list of changes, so every tile is drawn again. Must be
+	 * called on the event dispatch thread.
+	 * @param delta changes to the maze since the last update
+	 */
+	public void applyDelta(MazeDelta delta) {
+		if (maze == null || delta.isEmpty()) {
+			return;
+		}
+		if (delta.isFull()) {
+			tiles.clear();
+			repaint();
+			return;
+		}
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = -1, maxY = -1;
+		for (int i = 0; i < delta.size(); i++) {
+			int x = delta.getPixelX(i);
+			int y = delta.getPixelY(i);
+			if (x >= rasterizer.getWidth() || y >= rasterizer.getHeight()) {
+				continue;
+			}
+			// A node on the path also colors the passages to its neighbours on the path
+			int reach = delta.getKind(i) == MazeDelta.NODE ? 1 : 0;
+			for (int level = 0; level <= highestLevel; level++) {
+				redrawTilePixel(level, x, y);
+				if (reach > 0) {
+					redrawTilePixel(level, x - 1, y);
+					redrawTilePixel(level, x + 1, y);
+					redrawTilePixel(level, x, y - 1);
+					redrawTilePixel(level, x, y + 1);
+				}
+			}
+			minX = Math.min(minX, x - reach);
+			minY = Math.min(minY, y - reach);
+			maxX = Math.max(maxX, x + reach);
+			maxY = Math.max(maxY, y + reach);
+		}
+		if (maxX >= 0) {
+			int x0 = toScreenX(minX);
+			int y0 = toScreenY(minY);
+			repaint(x0, y0, toScreenX(maxX + 1) - x0 + 1, toScreenY(maxY + 1) - y0 + 1);
+		}
+	}
+
 	/**
 	 * Paints the maze by calling paintMaze. This method runs every time repaint is called.
 	 */
@@ -70,51 +246,180 @@ public class MazeDrawerCanvas extends JPanel {
 	public void paintComponent(Graphics g) {
 		super.paintComponent(g);
 		paintMaze(g);
+		if (renderPending && maze != null) {
+			renderPending = false;
+			MazeGenMetrics.getInstance().recordRender(System.nanoTime() - renderStart);
+		}
 	}
-	
+
 	/**
-	 * Paints the maze according to the bitmap that is set
+	 * Paints the tiles of the maze which are inside the clip of the graphics, each scaled to
+	 * the current zoom with a single draw call. When zoomed out, tiles of a coarser level are
+	 * used, where every tile pixel covers several pixels of the maze, so the number of tiles
+	 * drawn stays about the same no matter how large the maze is.
 	 * @param Graphics g given by the paintComponent method which calls this method.
 	 */
 	public void paintMaze(Graphics g) {
-		if (this.bitmap != null) {
-			g.setColor(Color.black);
-			for (int y = 0; y < bitmap[0].length; y++) {
-				for (int x = 0; x < bitmap.length; x++) {
-					if (bitmap[x][y] == 1) {
-						int xPix = x * blocksize;
-						int yPix = y * blocksize;
-						g.fillRect(xPix, yPix, blocksize, blocksize);
-					}
-				}
+		if (cleared) {
+			g.setColor(wallColor);
+			g.fillRect(0, 0, getWidth(), getHeight());
+			return;
+		}
+		if (maze == null) {
+			return;
+		}
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		int level = levelFor(scale);
+		highestLevel = Math.max(highestLevel, level);
+		long span = (long) TILE_SIZE << level;
+		double fromX = Math.max(0, originX + clip.x / scale);
+		double fromY = Math.max(0, originY + clip.y / scale);
+		double toX = Math.min(rasterizer.getWidth(), originX + (clip.x + clip.width) / scale);
+		double toY = Math.min(rasterizer.getHeight(), originY + (clip.y + clip.height) / scale);
+		for (long ty = (long) (fromY / span); ty * span < toY; ty++) {
+			for (long tx = (long) (fromX / span); tx * span < toX; tx++) {
+				BufferedImage tile = getTile(level, (int) tx, (int) ty);
+				int x0 = toScreenX(tx * span);
+				int y0 = toScreenY(ty * span);
+				int x1 = toScreenX(tx * span + ((long) tile.getWidth() << level));
+				int y1 = toScreenY(ty * span + ((long) tile.getHeight() << level));
+				g.drawImage(tile, x0, y0, x1 - x0, y1 - y0, null);
 			}
 		}
 	}
 
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
+	private int toScreenX(double mazeX) {
+		return (int) Math.floor((mazeX - originX) * scale);
+	}
 
+	private int toScreenY(double mazeY) {
+		return (int) Math.floor((mazeY - originY) * scale);
+	}
 
+	/**
+	 * Picks the coarsest level where a tile pixel is still at least a screen pixel, where a
+	 * tile pixel of level L covers 2^L by 2^L pixels of the maze.
+	 */
+	private static int levelFor(double scale) {
+		int level = 0;
+		while (level < 24 && (2 << level) * scale <= 1) {
+			level++;
+		}
+		return level;
+	}
 
+	private static long tileKey(int level, int tx, int ty) {
+		return ((long) level << 48) | ((long) ty << 24) | tx;
+	}
 
+	private BufferedImage getTile(int level, int tx, int ty) {
+		long key = tileKey(level, tx, ty);
+		BufferedImage tile = tiles.get(key);
+		if (tile == null) {
+			tile = drawTile(level, tx, ty);
+			tiles.put(key, tile);
+		}
+		return tile;
+	}
 
+	/**
+	 * Draws a tile of the given level from the maze, with one byte per pixel. Tiles at the
+	 * right and bottom edge of the maze are cut off where the maze ends.
+	 */
+	private BufferedImage drawTile(int level, int tx, int ty) {
+		int step = 1 << level;
+		long span = (long) TILE_SIZE << level;
+		int width = (int) ((Math.min(span, rasterizer.getWidth() - tx * span) + step - 1) >> level);
+		int height = (int) ((Math.min(span, rasterizer.getHeight() - ty * span) + step - 1) >> level);
+		BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED,
+											   palette);
+		byte[] data = ((DataBufferByte) tile.getRaster().getDataBuffer()).getData();
+		int x0 = (int) (tx * span);
+		int y0 = (int) (ty * span);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				data[y * width + x] = (byte) sample(level, x0 + (x << level), y0 + (y << level));
+			}
+		}
+		return tile;
+	}
 
+	/**
+	 * Draws the tile pixel covering the given pixel of the maze again, if the tile is cached.
+	 */
+	private void redrawTilePixel(int level, int px, int py) {
+		int tx = (px >> level) / TILE_SIZE;
+		int ty = (py >> level) / TILE_SIZE;
+		BufferedImage tile = tiles.get(tileKey(level, tx, ty));
+		if (tile == null) {
+			return;
+		}
+		byte[] data = ((DataBufferByte) tile.getRaster().getDataBuffer()).getData();
+		int x = (px >> level) % TILE_SIZE;
+		int y = (py >> level) % TILE_SIZE;
+		data[y * tile.getWidth() + x] = (byte) sample(level, px >> level << level,
+													  py >> level << level);
+	}
 
+	/**
+	 * Returns the palette index of the tile pixel of the given level whose top left corner
+	 * is at the given pixel of the maze. At level 0 this is the pixel itself. At coarser
+	 * levels two columns and two rows of the block are sampled, one even and one odd, so the
+	 * samples hit a node, the walls next to it and a corner, and the pixel is shaded by the
+	 * share of walls among them. A sample on the path colors the whole pixel as path.
+	 */
+	private int sample(int level, int px, int py) {
+		if (level == 0) {
+			return paletteIndex(rasterizer.getPixel(px, py));
+		}
+		int half = (1 << level) / 2 | 1;
+		int px2 = Math.min(px + half, rasterizer.getWidth() - 1);
+		int py2 = Math.min(py + half, rasterizer.getHeight() - 1);
+		int a = paletteIndex(rasterizer.getPixel(px, py));
+		int b = paletteIndex(rasterizer.getPixel(px2, py));
+		int c = paletteIndex(rasterizer.getPixel(px, py2));
+		int d = paletteIndex(rasterizer.getPixel(px2, py2));
+		if (a == 2 || b == 2 || c == 2 || d == 2) {
+			return 2;
+		}
+		return SHADE_INDEX + a + b + c + d;
+	}
 
+	/**
+	 * Maps a pixel value of the maze bitmap to the palette. Values other than walls (1) and
+	 * path (2) are drawn as corridors.
+	 */
+	private static int paletteIndex(int value) {
+		return value == 1 || value == 2 ? value : 0;
+	}
 
+	private static IndexColorModel makePalette() {
+		Color[] colors = new Color[SHADE_INDEX + SHADES];
+		colors[0] = corridorColor;
+		colors[1] = wallColor;
+		colors[2] = pathColor;
+		colors[3] = corridorColor;
+		for (int i = 0; i < SHADES; i++) {
+			colors[SHADE_INDEX + i] = blend(corridorColor, wallColor, (double) i / (SHADES - 1));
+		}
+		byte[] r = new byte[colors.length];
+		byte[] g = new byte[colors.length];
+		byte[] b = new byte[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			r[i] = (byte) colors[i].getRed();
+			g[i] = (byte) colors[i].getGreen();
+			b[i] = (byte) colors[i].getBlue();
+		}
+		return new IndexColorModel(8, colors.length, r, g, b);
+	}
 
+	private static Color blend(Color from, Color to, double t) {
+		return new Color((int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t),
+						 (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t),
+						 (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t));
+	}
 
+}
@@ -1,14 +1,20 @@
 package mazeGenerator;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import datatypes.Maze;
 import datatypes.Wall;
 import program.MazeGenerator;
-import datatypes.Node;
 
 public abstract class MazeGen {
 	
+	/** 
+	 * Parallel generators hand this many tasks per thread to the pool at a time, and check
+	 * whether the generation was cancelled in between.
+	 */
+	protected static final int CANCEL_CHECK_TASKS = 4;
+	
 	protected Maze maze;
 	protected long seed;
 	protected MazeDrawer drawer;
@@ -16,9 +22,17 @@ public abstract class MazeGen {
 				  startY = 0;
 	protected boolean animate = true;
 	protected int animationDelay = 0;
+	protected int framesPerSecond = 0;
+	protected long animationDuration = 0;
+	private AnimationScheduler scheduler;
+	// Pool the parallel generators split their work on
+	protected ForkJoinPool pool = ForkJoinPool.commonPool();
 	protected boolean timer = false;
-	protected long startTime = -1;
+	// Read from System.nanoTime, which may be negative, so a flag tells if the timer runs
+	protected long startTime;
 	protected long endTime;
+	private boolean timing = false;
+	private long setupNanos, generationNanos;
 	
 	/**
 	 * Constructs a MazeGenerator with maze width 
@@ -57,21 +71,45 @@ public abstract class MazeGen {
 	
 	/**
 	 * Generates a maze with just walls
+	 * @param listener following the generation, or null
+	 * @throws InterruptedException if the listener cancels the generation
 	 */
-	public void generate(SwingWorkerGenerate worker) throws InterruptedException {
-		long start = System.currentTimeMillis();
+	public void generate(GenerationListener listener) throws InterruptedException {
+		long start = System.nanoTime();
 
+		// Record the changes so an animation only has to redraw what changed between updates
+		maze.recordChanges(listener != null && animate);
+		scheduler = null;
+		maze.clearVisited();
 		setAllWalls();
 		if (animate) {
 			setAllNodes();
 		}
 
-		long elapsed = System.currentTimeMillis() - start;
+		setupNanos = System.nanoTime() - start;
+		generationNanos = 0;
 		if (MazeGenerator.DEBUG) {
-			System.out.println("Setup: " + elapsed + "ms");
+			System.out.println("Setup: " + setupNanos / 1000000 + "ms");
 		}
 	}
 	
+	/**
+	 * Returns the time it took to fill the maze with walls before the last generation.
+	 * @return setup time in nanoseconds
+	 */
+	public long getSetupNanos() {
+		return setupNanos;
+	}
+	
+	/**
+	 * Returns the time it took to carve the maze in the last generation, as measured between
+	 * startTimer and endTimer.
+	 * @return generation time in nanoseconds, 0 if the generation did not finish
+	 */
+	public long getGenerationNanos() {
+		return generationNanos;
+	}
+	
 	/**
 	 * Gets the seed used to create the maze
 	 * @return long seed which can be passed to recreate the maze
@@ -101,26 +139,60 @@ public abstract class MazeGen {
 		}
 	}
 	
+	/**
+	 * Sets the pool which the parallel generators split their work on, such as the bands of 
+	 * Binary Tree and Sidewinder, the sort of Kruskal's algorithm and the tiles of a tiled 
+	 * maze. The other generators run on the calling thread only.
+	 * @param pool of type ForkJoinPool, the common pool unless set
+	 */
+	public void setPool(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool cannot be null");
+		}
+		this.pool = pool;
+	}
+	
+	/**
+	 * Sets the highest number of frames drawn per second when animating. Steps which are 
+	 * faster than a frame are drawn together in the next frame.
+	 * @param framesPerSecond positive frame rate, or 0 for AnimationScheduler.DEFAULT_FPS
+	 */
+	public void setFramesPerSecond(int framesPerSecond) {
+		if (framesPerSecond < 0) {
+			throw new IllegalArgumentException("Frame rate cannot be negative, got " 
+					+ framesPerSecond);
+		}
+		this.framesPerSecond = framesPerSecond;
+	}
+	
+	/**
+	 * Sets how long the animation should take as a whole, no matter the size of the maze.
+	 * When set, this is used instead of the animation delay.
+	 * @param animationDuration in milliseconds, or 0 to use the animation delay per step
+	 */
+	public void setAnimationDuration(long animationDuration) {
+		if (animationDuration < 0) {
+			throw new IllegalArgumentException("Animation duration cannot be negative, got " 
+					+ animationDuration);
+		}
+		this.animationDuration = animationDuration;
+	}
+	
+	/**
+	 * Returns the number of times the generator is expected to call mazeChanged while 
+	 * animating, which is used to spread the animation over the animation duration. 
+	 * Most generators carve one passage per step, so the default is the number of nodes.
+	 * @return expected number of animation steps
+	 */
+	protected long getAnimationSteps() {
+		return maze.getCellCount();
+	}
+	
 	/**
 	 * Creates all possible walls in the maze.
 	 */
 	public void setAllWalls() {
-		int mazeWidth = maze.getWidth();
-		int mazeHeight = maze.getHeight();
-		for (int y = 0; y < mazeHeight; y++) {
-			for (int x = 0; x < mazeWidth; x++) {
-				Node currentNode = new Node(x, y);
-				Node[] neighbours = currentNode
-									.getSouthEastNeighboursArray(mazeWidth, 
-																 mazeHeight);
-				for (int i = 0; i < neighbours.length; i++) {
-					Node neighbour = neighbours[i];
-					if (neighbour != null) {
-						maze.addWall(currentNode, neighbour);
-					}
-				}
-			}
-		}
+		maze.addAllWalls();
 	}
 	
 	/**
@@ -128,11 +200,7 @@ public abstract class MazeGen {
 	 * indicating that they have not yet been visited
 	 */
 	public void setAllNodes() {
-		for (int y = 0; y < maze.getHeight(); y++) {
-			for (int x = 0; x < maze.getWidth(); x++) {
-				maze.setNodeValue(x, y, 1);
-			}
-		}
+		maze.setAllNodeValues(1);
 	}
 
 	/**
@@ -144,48 +212,65 @@ public abstract class MazeGen {
 	}
 	
 	/**
-	 * Is called when the maze is changed and needs updating.
-	 * Delays and then updates the drawn maze.
+	 * Is called when the maze is changed and needs updating. The drawn maze is updated when
+	 * the next frame is due, and the generation is paced by the animation delay or duration.
+	 * @param listener following the generation, or null if nobody follows it, in which case 
+	 * 		  nothing is drawn and the generation cannot be cancelled
+	 * @throws InterruptedException if the listener has cancelled the generation
 	 */
-	public void mazeChanged(SwingWorkerGenerate worker) throws InterruptedException {
-		if (worker.isCancelled()) {
-			throw new InterruptedException("Job got cancelled.");
+	public void mazeChanged(GenerationListener listener) throws InterruptedException {
+		if (listener == null) {
+			return;
 		}
+		checkCancelled(listener);
 		if (animate) {
-			worker.update(maze);
-			delay();
+			if (scheduler == null) {
+				scheduler = animationDuration > 0 
+						? AnimationScheduler.forDuration(framesPerSecond, animationDuration, 
+														 getAnimationSteps())
+						: AnimationScheduler.forDelay(framesPerSecond, animationDelay);
+			}
+			scheduler.step(listener, maze);
 		}
 	}
 	
 	/**
-	 * Pauses execution for the delay duration 
-	 * specified in the delayDuration variable
+	 * Stops the generation if the listener has cancelled it, without drawing anything. 
+	 * Generators which do not call mazeChanged while they work, like the parallel ones 
+	 * without animation, call this between their phases instead.
+	 * @param listener following the generation, or null if it cannot be cancelled
+	 * @throws InterruptedException if the listener has cancelled the generation
 	 */
-	public void delay() throws InterruptedException {
-		Thread.sleep(animationDelay);
+	protected void checkCancelled(GenerationListener listener) throws InterruptedException {
+		if (listener != null && listener.isCancelled()) {
+			throw new InterruptedException("Job got cancelled.");
+		}
 	}
 	
 	/**
 	 * Starts the timer for the generation phase
 	 */
 	public void startTimer() {
-		startTime = System.currentTimeMillis();
+		startTime = System.nanoTime();
+		timing = true;
 	}
 	
 	/**
-	 * Ends the timer for the generation phase and returns the elapsed time
-	 * @return elapsed time since startTimer was called
+	 * Ends the timer for the generation phase and returns the elapsed time. The time is 
+	 * measured in nanoseconds, and kept such that it can be read by getGenerationNanos.
+	 * @return elapsed time in milliseconds since startTimer was called
 	 * @throws IllegalStateException if called before startTimer.
 	 */
 	public long endTimer() {
-		if (startTime < 0) {
-			throw new IllegalStateException("Attempted to stop timer before"
+		if (!timing) {
+			throw new IllegalStateException("Attempted to stop timer before "
 					+ "timer was started!");
 		}
-		endTime = System.currentTimeMillis();
-		long elapsed = endTime - startTime;
+		endTime = System.nanoTime();
+		generationNanos = endTime - startTime;
 		startTime = endTime = 0;
-		return elapsed;
+		timing = false;
+		return generationNanos / 1000000;
 	}
 
 	/**
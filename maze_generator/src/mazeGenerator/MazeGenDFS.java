@@ -1,10 +1,7 @@
 package mazeGenerator;
 
 import java.util.Random;
-import java.util.Stack;
 
-import datatypes.Node;
-import datatypes.NodeCollection;
 import program.MazeGenerator;
 
 public class MazeGenDFS extends MazeGen {
@@ -60,41 +57,20 @@ public class MazeGenDFS extends MazeGen {
 	 * Generates a maze with randomized-DFS
 	 */
 	@Override
-	public void generate(SwingWorkerGenerate worker) throws InterruptedException {
-		super.generate(worker);
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
 		startTimer();
 		int startX = maze.getWidth()/2;
 		int startY = maze.getHeight()/2;
-		int mazeWidth = maze.getWidth();
-		int mazeHeight = maze.getHeight();
-		Node startNode = new Node(startX, startY);
-		NodeCollection visited = new NodeCollection();
-		visited.add(startNode);
-		maze.setNodeValue(startNode, 0);
-		mazeChanged(worker);
-		Stack<Node> stack = new Stack<Node>();
-		stack.push(startNode);
-		Node currentNode, chosenNode;
-		while (!stack.isEmpty()) {
-			currentNode = stack.pop();
-			NodeCollection neighbours = currentNode.getNeighbours(mazeWidth, mazeHeight);
-			NodeCollection unvisitedNeighbours = new NodeCollection();
-			for (Node neighbour : neighbours) {
-				if (!visited.contains(neighbour)) {
-					unvisitedNeighbours.add(neighbour);
-				}
-			}
-			int numberOfUnvisited = unvisitedNeighbours.size();
-			if (numberOfUnvisited > 0) {
-				stack.push(currentNode);
-				int randint = rnd.nextInt(numberOfUnvisited);
-				chosenNode = unvisitedNeighbours.get(randint);
-				maze.removeWall(currentNode, chosenNode);
-				visited.add(chosenNode);
-				maze.setNodeValue(chosenNode, 0);
-				stack.push(chosenNode);
-				mazeChanged(worker);
-			}
+		int startCell = maze.cellId(startX, startY);
+		DFSEngine engine = new DFSEngine(maze, rnd);
+		engine.start(startCell);
+		maze.setCellValue(startCell, 0);
+		mazeChanged(listener);
+		int chosenCell;
+		while ((chosenCell = engine.step()) >= 0) {
+			maze.setCellValue(chosenCell, 0);
+			mazeChanged(listener);
 		}
 		long elapsed = endTimer();
 		if (MazeGenerator.DEBUG) {
@@ -103,31 +79,3 @@ public class MazeGenDFS extends MazeGen {
 	}
 
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,87 @@
+package mazeGenerator;
+
+import java.util.Random;
+
+import datatypes.Maze;
+import program.MazeGenerator;
+
+public class MazeGenEller extends MazeGen {
+	
+	private Random rnd = new Random();
+	
+	/**
+	 * Constructs a maze generator which uses Eller's algorithm
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 * @param timer boolean, indicating whether the maze generation process
+	 * 		  should be timed and printed to the console.
+	 */
+	public MazeGenEller(int width, int height, MazeDrawer drawer,
+					  boolean animate, int animationDelay) {
+		super(width, height, drawer, animate, animationDelay);
+		generateNewSeed(rnd);
+		rnd.setSeed(seed);
+	}
+	
+	/**
+	 * Constructs a maze generator which uses Eller's algorithm
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 * @param timer boolean, indicating whether the maze generation process
+	 * 		  should be timed and printed to the console.
+	 */
+	public MazeGenEller(int width, int height, MazeDrawer drawer,
+					  long seed, boolean animate, int animationDelay) {
+		this(width, height, drawer, animate, animationDelay);
+		if (seed != 0) {
+			this.seed = seed;
+			rnd.setSeed(seed);
+		}
+	}
+	
+	/**
+	 * Generates a maze using Eller's algorithm, one row at a time from the top
+	 */
+	@Override
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
+		startTimer();
+		int mazeWidth = maze.getWidth();
+		int mazeHeight = maze.getHeight();
+		EllerEngine engine = new EllerEngine(mazeWidth, rnd);
+		for (int y = 0; y < mazeHeight; y++) {
+			engine.nextRow(y == mazeHeight-1);
+			for (int x = 0; x < mazeWidth; x++) {
+				int cell = maze.cellId(x, y);
+				if (x < mazeWidth-1 && !engine.hasEastWall(x)) {
+					maze.carve(cell, Maze.EAST);
+				}
+				if (y < mazeHeight-1 && !engine.hasSouthWall(x)) {
+					maze.carve(cell, Maze.SOUTH);
+				}
+				maze.setCellValue(cell, 0);
+				mazeChanged(listener);
+			}
+		}
+		long elapsed = endTimer();
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Generation: " + elapsed + "ms");
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package mazeGenerator;
+
+import program.MazeType;
+
+public class MazeGenFactory {
+
+	/**
+	 * Creates a maze generator for the given maze type
+	 * @param type of maze, i.e. the algorithm to use
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze, may be null if the maze
+	 * 		  is not drawn.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 * @return A MazeGen instance
+	 */
+	public static MazeGen create(MazeType type, int width, int height, MazeDrawer drawer,
+								 long seed, boolean animate, int animationDelay) {
+		switch (type) {
+			case DFS:
+				return new MazeGenDFS(width, height, drawer, seed,
+									  animate, animationDelay);
+			case PRIM:
+				return new MazeGenPrim(width, height, drawer, seed,
+									   animate, animationDelay);
+			case ELLER:
+				return new MazeGenEller(width, height, drawer, seed,
+										animate, animationDelay);
+			case BINARY_TREE:
+				return new MazeGenBinaryTree(width, height, drawer, seed,
+											 animate, animationDelay);
+			case SIDEWINDER:
+				return new MazeGenSidewinder(width, height, drawer, seed,
+											 animate, animationDelay);
+			case KRUSKAL:
+				return new MazeGenKruskal(width, height, drawer, seed,
+										  animate, animationDelay);
+			case WILSON:
+				return new MazeGenWilson(width, height, drawer, seed,
+										 animate, animationDelay);
+			default:
+				throw new IllegalArgumentException("Invalid maze type: " + type);
+		}
+	}
+
+}
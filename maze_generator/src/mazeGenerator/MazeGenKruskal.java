@@ -0,0 +1,69 @@
+package mazeGenerator;
+
+import java.util.Random;
+
+import datatypes.Maze;
+import program.MazeGenerator;
+
+public class MazeGenKruskal extends MazeGen {
+	
+	private Random rnd = new Random();
+	
+	/**
+	 * Constructs a maze generator which uses the randomized Kruskal's algorithm
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 */
+	public MazeGenKruskal(int width, int height, MazeDrawer drawer,
+						  long seed, boolean animate, int animationDelay) {
+		super(width, height, drawer, animate, animationDelay);
+		generateNewSeed(rnd);
+		if (seed != 0) {
+			this.seed = seed;
+		}
+	}
+	
+	/**
+	 * Generates a maze using the randomized Kruskal's algorithm. Without animation the work is
+	 * spread over the pool of the generator, and a cancel is noticed after the sort and between
+	 * the chunks of walls. With animation the walls are joined one at a time. Both give the 
+	 * same maze.
+	 */
+	@Override
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
+		startTimer();
+		KruskalEngine engine = new KruskalEngine(maze, seed);
+		if (animate) {
+			engine.sortWalls(pool);
+			int mazeWidth = maze.getWidth();
+			for (int i = 0; i < engine.getWallCount(); i++) {
+				int wall = engine.getWall(i);
+				if (engine.join(wall)) {
+					int cell = wall >>> 1;
+					maze.setCellValue(cell, 0);
+					maze.setCellValue((wall & 1) == 0 ? cell + 1 : cell + mazeWidth, 0);
+					mazeChanged(listener);
+				}
+			}
+		} else {
+			engine.sortWalls(pool);
+			do {
+				checkCancelled(listener);
+			} while (engine.joinChunk(pool));
+		}
+		long elapsed = endTimer();
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Generation: " + elapsed + "ms");
+		}
+	}
+
+}
@@ -2,10 +2,8 @@ package mazeGenerator;
 
 import java.util.Random;
 
-import datatypes.Node;
-import datatypes.NodeCollection;
-import datatypes.Wall;
-import datatypes.WallCollection;
+import datatypes.Maze;
+import datatypes.WallFrontier;
 import program.MazeGenerator;
 
 public class MazeGenPrim extends MazeGen {
@@ -61,80 +59,71 @@ public class MazeGenPrim extends MazeGen {
 	 * Generates a maze using the randomized Prim's algorithm
 	 */
 	@Override
-	public void generate(SwingWorkerGenerate worker) throws InterruptedException {
-		super.generate(worker);
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
 		startTimer();
-		Node startNode = new Node(startX, startY);
-		NodeCollection visited = new NodeCollection();
-		visited.add(startNode);
-		maze.setNodeValue(startNode, 0);
-		mazeChanged(worker);
-		WallCollection walls = new WallCollection();
 		int mazeWidth = maze.getWidth();
-		int mazeHeight = maze.getHeight();
-		for (Node neighbour : startNode.getNeighbours(mazeWidth, mazeHeight)) {
-			walls.add(new Wall(startNode, neighbour));
-		}
-		int randint;
+		int startCell = maze.cellId(startX, startY);
+		maze.setVisited(startCell);
+		maze.setCellValue(startCell, 0);
+		mazeChanged(listener);
+		WallFrontier walls = new WallFrontier(maze.getCellCount());
+		addFrontierWalls(walls, startCell);
 		while (!walls.isEmpty()) {
-			randint = rnd.nextInt(walls.size());
-			Wall randomWall = walls.get(randint);
-			Node nodeA = randomWall.getA();
-			Node nodeB = randomWall.getB();
-			// if only one of the nodes divided by the wall has been visited
-			if (visited.contains(nodeA) && !visited.contains(nodeB)) {
-				maze.removeWall(randomWall);
-				visited.add(nodeB);
-				maze.setNodeValue(nodeB, 0);
-				mazeChanged(worker);
-				for (Node neighbour : nodeB.getNeighbours(mazeWidth, mazeHeight)) {
-					walls.add(new Wall(nodeB, neighbour));
-				}
-			} else if (!visited.contains(nodeA) && visited.contains(nodeB)) {
-				maze.removeWall(randomWall);
-				visited.add(nodeA);
-				maze.setNodeValue(nodeB, 0);
-				mazeChanged(worker);
-				for (Node neighbour : nodeA.getNeighbours(mazeWidth, mazeHeight)) {
-					walls.add(new Wall(nodeA, neighbour));
-				}
+			int randomWall = walls.removeRandom(rnd);
+			int cellA = randomWall >>> 1;
+			int cellB = (randomWall & 1) == 0 ? cellA + 1 : cellA + mazeWidth;
+			int newCell = -1;
+			// if only one of the cells divided by the wall has been visited
+			if (maze.isVisited(cellA) && !maze.isVisited(cellB)) {
+				newCell = cellB;
+			} else if (!maze.isVisited(cellA) && maze.isVisited(cellB)) {
+				newCell = cellA;
+			}
+			if (newCell >= 0) {
+				maze.carve(cellA, (randomWall & 1) == 0 ? Maze.EAST : Maze.SOUTH);
+				maze.setVisited(newCell);
+				maze.setCellValue(newCell, 0);
+				mazeChanged(listener);
+				addFrontierWalls(walls, newCell);
 			}
-			walls.remove(randomWall);
 		}
+		// Every cell is visited now, the marks are of no use after the generation
+		maze.clearVisited();
 		long elapsed = endTimer();
 		if (MazeGenerator.DEBUG) {
 			System.out.println("Generation: " + elapsed + "ms");
 		}
 	}
+	
+	/**
+	 * Adds the walls between the given cell and its unvisited neighbours to the frontier. 
+	 * Walls to visited neighbours can never be carved, so they are left out.
+	 * A wall id is 2*cell for the wall east of cell, and 2*cell+1 for the wall south of cell.
+	 * @param walls the frontier
+	 * @param cell id of the cell whose walls are added
+	 */
+	private void addFrontierWalls(WallFrontier walls, int cell) {
+		for (int dir = 0; dir < 4; dir++) {
+			int neighbour = maze.neighbour(cell, dir);
+			if (neighbour < 0 || maze.isVisited(neighbour)) {
+				continue;
+			}
+			switch (dir) {
+				case Maze.WEST:
+					walls.add(2 * neighbour);
+					break;
+				case Maze.EAST:
+					walls.add(2 * cell);
+					break;
+				case Maze.NORTH:
+					walls.add(2 * neighbour + 1);
+					break;
+				default:
+					walls.add(2 * cell + 1);
+					break;
+			}
+		}
+	}
 
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
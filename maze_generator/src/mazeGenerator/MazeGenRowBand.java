@@ -0,0 +1,91 @@
+package mazeGenerator;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import datatypes.Maze;
+import program.MazeGenerator;
+
+public abstract class MazeGenRowBand extends MazeGen {
+	
+	private Random rnd = new Random();
+	
+	/**
+	 * Constructs a maze generator for algorithms which carve each band of rows on its own
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 */
+	public MazeGenRowBand(int width, int height, MazeDrawer drawer,
+						  long seed, boolean animate, int animationDelay) {
+		super(width, height, drawer, animate, animationDelay);
+		generateNewSeed(rnd);
+		if (seed != 0) {
+			this.seed = seed;
+		}
+	}
+	
+	/**
+	 * Creates the engine which carves the rows of the maze
+	 * @param maze to carve the passages in
+	 * @param seed from which the random stream of every band is derived
+	 * @return the engine
+	 */
+	protected abstract RowBandEngine createEngine(Maze maze, long seed);
+	
+	/**
+	 * Animation steps are whole rows.
+	 */
+	@Override
+	protected long getAnimationSteps() {
+		return maze.getHeight();
+	}
+	
+	/**
+	 * Generates the maze. Without animation the bands are carved in parallel on the pool of
+	 * the generator, a few per thread at a time such that a cancel is noticed between them. 
+	 * With animation they are carved one row at a time. Both give the same maze.
+	 */
+	@Override
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
+		startTimer();
+		RowBandEngine engine = createEngine(maze, seed);
+		if (animate) {
+			int mazeWidth = maze.getWidth();
+			int mazeHeight = maze.getHeight();
+			for (int band = 0; band < engine.getBandCount(); band++) {
+				SplittableRandom bandRnd = engine.bandRandom(band);
+				int end = Math.min(mazeHeight, (band + 1) * RowBandEngine.BAND_ROWS);
+				for (int y = band * RowBandEngine.BAND_ROWS; y < end; y++) {
+					engine.carveRow(y, bandRnd);
+					for (int x = 0; x < mazeWidth; x++) {
+						maze.setNodeValue(x, y, 0);
+					}
+					mazeChanged(listener);
+				}
+			}
+			maze.recountWalls();
+		} else {
+			int bandCount = engine.getBandCount();
+			int step = CANCEL_CHECK_TASKS * pool.getParallelism();
+			for (int from = 0; from < bandCount; from += step) {
+				checkCancelled(listener);
+				engine.carveBands(pool, from, Math.min(bandCount, from + step));
+			}
+			maze.recountWalls();
+		}
+		long elapsed = endTimer();
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Generation: " + elapsed + "ms");
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package mazeGenerator;
+
+import datatypes.Maze;
+
+public class MazeGenSidewinder extends MazeGenRowBand {
+	
+	/**
+	 * Constructs a maze generator which uses the Sidewinder algorithm
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 */
+	public MazeGenSidewinder(int width, int height, MazeDrawer drawer,
+					  long seed, boolean animate, int animationDelay) {
+		super(width, height, drawer, seed, animate, animationDelay);
+	}
+	
+	@Override
+	protected RowBandEngine createEngine(Maze maze, long seed) {
+		return new SidewinderEngine(maze, seed);
+	}
+
+}
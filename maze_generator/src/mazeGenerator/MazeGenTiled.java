@@ -0,0 +1,275 @@
+package mazeGenerator;
+
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+
+import datatypes.ConcurrentUnionFind;
+import datatypes.Maze;
+import program.MazeGenerator;
+import program.MazeType;
+
+public class MazeGenTiled extends MazeGen {
+	
+	private Random rnd = new Random();
+	private final int tileSize;
+	private final MazeType[] tileTypes;
+	private final int tilesX, tilesY;
+	// Per tile: index into tileTypes and seed, drawn from the maze seed before generation
+	private int[] tileType;
+	private long[] tileSeed;
+	
+	/**
+	 * Constructs a maze generator which splits the maze into square tiles, generates every 
+	 * tile as a maze of its own and then joins the tiles along a random spanning tree.
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 * @param tileSize width and height of a tile, measured in number of nodes. Tiles in the
+	 * 		  last column and row are cut off at the border of the maze.
+	 * @param tileTypes maze types to use for the tiles, every tile picks one of them at random
+	 */
+	public MazeGenTiled(int width, int height, MazeDrawer drawer, long seed, boolean animate,
+						int animationDelay, int tileSize, MazeType[] tileTypes) {
+		super(width, height, drawer, animate, animationDelay);
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("Tile size must be positive, got " + tileSize);
+		}
+		if (tileTypes.length == 0) {
+			throw new IllegalArgumentException("At least one tile type is needed");
+		}
+		this.tileSize = tileSize;
+		this.tileTypes = tileTypes.clone();
+		this.tilesX = (width + tileSize - 1) / tileSize;
+		this.tilesY = (height + tileSize - 1) / tileSize;
+		generateNewSeed(rnd);
+		if (seed != 0) {
+			this.seed = seed;
+		}
+	}
+	
+	/**
+	 * Animation steps are whole tiles, followed by the walls opened between the tiles.
+	 */
+	@Override
+	protected long getAnimationSteps() {
+		return 2L * tilesX * tilesY - 1;
+	}
+	
+	/**
+	 * Generates the maze. Without animation the tiles are generated in parallel on the pool of
+	 * the generator, a few per thread at a time such that a cancel is noticed between them, and
+	 * then copied into the maze in parallel bands of Maze.CONCURRENT_BAND_ROWS rows, which 
+	 * never share a word of wall bits, so no lock is needed. All tiles are kept until they 
+	 * are copied. With animation they are generated and 
+	 * copied one after another. Both give the same maze, since every tile has its own seed.
+	 */
+	@Override
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
+		startTimer();
+		Random layout = new Random(seed);
+		int tileCount = tilesX * tilesY;
+		tileType = new int[tileCount];
+		tileSeed = new long[tileCount];
+		for (int tile = 0; tile < tileCount; tile++) {
+			tileType[tile] = layout.nextInt(tileTypes.length);
+			// Seed 0 would make the tile pick a random seed of its own
+			tileSeed[tile] = Math.max(1, layout.nextLong() >>> 1);
+		}
+		if (animate) {
+			for (int tile = 0; tile < tileCount; tile++) {
+				copyTile(tile, generateTile(tile), 0, maze.getHeight());
+				mazeChanged(listener);
+			}
+		} else {
+			Maze[] tileMazes = new Maze[tileCount];
+			int step = CANCEL_CHECK_TASKS * pool.getParallelism();
+			for (int from = 0; from < tileCount; from += step) {
+				checkCancelled(listener);
+				pool.invoke(new TileTask(tileMazes, from, Math.min(tileCount, from + step)));
+			}
+			checkCancelled(listener);
+			int bandCount = (maze.getHeight() + Maze.CONCURRENT_BAND_ROWS - 1) 
+					/ Maze.CONCURRENT_BAND_ROWS;
+			pool.invoke(new CopyTask(tileMazes, 0, bandCount));
+		}
+		maze.recountWalls();
+		stitchTiles(layout, listener);
+		long elapsed = endTimer();
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Generation: " + elapsed + "ms");
+		}
+	}
+	
+	/**
+	 * Generates a single tile as a maze of its own.
+	 * @param tile index of the tile, tileY*tilesX+tileX
+	 * @return maze of the tile, cut off at the border of the maze
+	 */
+	private Maze generateTile(int tile) {
+		int w = Math.min(tileSize, maze.getWidth() - (tile % tilesX) * tileSize);
+		int h = Math.min(tileSize, maze.getHeight() - (tile / tilesX) * tileSize);
+		MazeGen gen = MazeGenFactory.create(tileTypes[tileType[tile]], w, h, null,
+											tileSeed[tile], false, 0);
+		gen.setPool(pool);
+		try {
+			gen.generate(null);
+		} catch (InterruptedException e) {
+			// Only a cancelled listener interrupts a generator, and the tile has none
+			throw new IllegalStateException(e);
+		}
+		return gen.getMaze();
+	}
+	
+	/**
+	 * Copies the passages of a tile in the given rows of the maze into the maze. The walls are
+	 * removed with carveConcurrently, so tiles may be copied at the same time as long as every 
+	 * thread copies its own band of rows, see Maze.CONCURRENT_BAND_ROWS. The wall count has to
+	 * be recounted afterwards.
+	 * @param tile index of the tile, tileY*tilesX+tileX
+	 * @param tileMaze maze of the tile
+	 * @param fromY first row of the maze to copy
+	 * @param toY row of the maze after the last one to copy
+	 */
+	private void copyTile(int tile, Maze tileMaze, int fromY, int toY) {
+		int mazeWidth = maze.getWidth();
+		int x0 = (tile % tilesX) * tileSize;
+		int y0 = (tile / tilesX) * tileSize;
+		int w = tileMaze.getWidth();
+		int from = Math.max(fromY, y0);
+		int to = Math.min(toY, y0 + tileMaze.getHeight());
+		for (int y = from; y < to; y++) {
+			int tileCell = (y - y0) * w;
+			int cell = y * mazeWidth + x0;
+			for (int x = 0; x < w; x++, tileCell++, cell++) {
+				int open = tileMaze.openDirections(tileCell);
+				if ((open & (1 << Maze.EAST)) != 0) {
+					maze.carveConcurrently(cell, Maze.EAST);
+				}
+				if ((open & (1 << Maze.SOUTH)) != 0) {
+					maze.carveConcurrently(cell, Maze.SOUTH);
+				}
+				if (animate) {
+					maze.setCellValue(cell, 0);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Joins the tiles into one perfect maze by opening one wall between each pair of tiles
+	 * joined by a random spanning tree over the tiles. The tree is built with Kruskal's 
+	 * algorithm over the edges between neighbouring tiles in random order.
+	 * @param layout random generator drawing the tree and the walls to open
+	 * @param listener following the generation, or null
+	 */
+	private void stitchTiles(Random layout, GenerationListener listener) 
+			throws InterruptedException {
+		int tileCount = tilesX * tilesY;
+		// Edge 2*tile joins the tile to its east neighbour, 2*tile+1 to its south neighbour
+		int[] edges = new int[2 * tileCount];
+		int edgeCount = 0;
+		for (int tile = 0; tile < tileCount; tile++) {
+			if (tile % tilesX < tilesX-1) {
+				edges[edgeCount++] = 2 * tile;
+			}
+			if (tile / tilesX < tilesY-1) {
+				edges[edgeCount++] = 2 * tile + 1;
+			}
+		}
+		for (int i = edgeCount-1; i > 0; i--) {
+			int j = layout.nextInt(i + 1);
+			int tmp = edges[i];
+			edges[i] = edges[j];
+			edges[j] = tmp;
+		}
+		ConcurrentUnionFind tiles = new ConcurrentUnionFind(tileCount);
+		for (int i = 0; i < edgeCount; i++) {
+			int tile = edges[i] >>> 1;
+			boolean east = (edges[i] & 1) == 0;
+			if (!tiles.union(tile, east ? tile + 1 : tile + tilesX)) {
+				continue;
+			}
+			int x0 = (tile % tilesX) * tileSize;
+			int y0 = (tile / tilesX) * tileSize;
+			if (east) {
+				int y = y0 + layout.nextInt(Math.min(tileSize, maze.getHeight() - y0));
+				maze.removeWall(x0 + tileSize - 1, y, x0 + tileSize, y);
+			} else {
+				int x = x0 + layout.nextInt(Math.min(tileSize, maze.getWidth() - x0));
+				maze.removeWall(x, y0 + tileSize - 1, x, y0 + tileSize);
+			}
+			mazeChanged(listener);
+		}
+	}
+	
+	/**
+	 * Splits a range of tiles in half until a single tile is left, which is then generated.
+	 */
+	private class TileTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final Maze[] tileMazes;
+		private final int from, to;
+
+		TileTask(Maze[] tileMazes, int from, int to) {
+			this.tileMazes = tileMazes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				tileMazes[from] = generateTile(from);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new TileTask(tileMazes, from, mid), new TileTask(tileMazes, mid, to));
+		}
+
+	}
+	
+	/**
+	 * Splits a range of bands of rows in half until a single band is left, whose rows are 
+	 * then copied from every tile which overlaps them.
+	 */
+	private class CopyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final Maze[] tileMazes;
+		private final int from, to;
+
+		CopyTask(Maze[] tileMazes, int from, int to) {
+			this.tileMazes = tileMazes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new CopyTask(tileMazes, from, mid), new CopyTask(tileMazes, mid, to));
+				return;
+			}
+			int fromY = from * Maze.CONCURRENT_BAND_ROWS;
+			int toY = Math.min(maze.getHeight(), fromY + Maze.CONCURRENT_BAND_ROWS);
+			for (int tileY = fromY / tileSize; tileY * tileSize < toY; tileY++) {
+				for (int tileX = 0; tileX < tilesX; tileX++) {
+					int tile = tileY * tilesX + tileX;
+					copyTile(tile, tileMazes[tile], fromY, toY);
+				}
+			}
+		}
+
+	}
+
+}
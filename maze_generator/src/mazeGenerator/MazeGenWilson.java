@@ -0,0 +1,99 @@
+package mazeGenerator;
+
+import java.util.Random;
+
+import program.MazeGenerator;
+
+public class MazeGenWilson extends MazeGen {
+	
+	/** Share of the cells, in percent, joined by the Aldous-Broder walk unless set otherwise */
+	public static final int DEFAULT_ALDOUS_BRODER_PERCENT = 0;
+	// Without animation, a cancel is checked for after this many walks or joined cells
+	private static final int CANCEL_CHECK_STEPS = 1024;
+	
+	private Random rnd = new Random();
+	private int aldousBroderPercent = DEFAULT_ALDOUS_BRODER_PERCENT;
+	
+	/**
+	 * Constructs a maze generator which uses Wilson's algorithm
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param drawer of type MazeDrawer, 
+	 * 		  the class which handles the drawing of the maze.
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param animate boolean, indicating whether the maze generation process 
+	 * 		  should be animated.
+	 * @param animation delay integer defining the length in milliseconds
+	 * 		  for the delay each animation step. (i.e. each time the maze
+	 * 		  is redrawn.)
+	 */
+	public MazeGenWilson(int width, int height, MazeDrawer drawer,
+						 long seed, boolean animate, int animationDelay) {
+		super(width, height, drawer, animate, animationDelay);
+		generateNewSeed(rnd);
+		if (seed != 0) {
+			this.seed = seed;
+		}
+		rnd.setSeed(this.seed);
+	}
+	
+	/**
+	 * Sets how much of the maze is carved by an Aldous-Broder random walk before switching to
+	 * the loop-erased walks of Wilson's algorithm. Only 0 and 100 give exactly uniform mazes,
+	 * anything in between is faster to start but slightly biased.
+	 * @param aldousBroderPercent between 0 and 100, where 0 only uses Wilson's algorithm
+	 */
+	public void setAldousBroderPercent(int aldousBroderPercent) {
+		if (aldousBroderPercent < 0 || aldousBroderPercent > 100) {
+			throw new IllegalArgumentException("Percentage must be between 0 and 100, got "
+					+ aldousBroderPercent);
+		}
+		this.aldousBroderPercent = aldousBroderPercent;
+	}
+	
+	/**
+	 * Generates a maze using Wilson's algorithm, after an optional Aldous-Broder phase
+	 */
+	@Override
+	public void generate(GenerationListener listener) throws InterruptedException {
+		super.generate(listener);
+		startTimer();
+		WilsonEngine engine = new WilsonEngine(maze, rnd);
+		int startCell = maze.cellId(startX, startY);
+		engine.start(startCell);
+		maze.setCellValue(startCell, 0);
+		mazeChanged(listener);
+		int aldousBroderCells = (int) ((long) maze.getCellCount() * aldousBroderPercent / 100);
+		if (animate) {
+			while (engine.getTreeSize() < aldousBroderCells) {
+				int cell = engine.aldousBroderStep();
+				if (cell >= 0) {
+					maze.setCellValue(cell, 0);
+					mazeChanged(listener);
+				}
+			}
+			while (engine.walk() > 0) {
+				for (int i = 0; i < engine.getPathLength(); i++) {
+					maze.setCellValue(engine.getPathCell(i), 0);
+					mazeChanged(listener);
+				}
+			}
+		} else {
+			while (engine.getTreeSize() < aldousBroderCells) {
+				checkCancelled(listener);
+				engine.aldousBroder(Math.min(aldousBroderCells, 
+											 engine.getTreeSize() + CANCEL_CHECK_STEPS));
+			}
+			for (int walks = 1; engine.walk() > 0; walks++) {
+				if (walks % CANCEL_CHECK_STEPS == 0) {
+					checkCancelled(listener);
+				}
+			}
+		}
+		long elapsed = endTimer();
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Generation: " + elapsed + "ms");
+		}
+	}
+
+}
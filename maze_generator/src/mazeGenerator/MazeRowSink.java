@@ -0,0 +1,19 @@
+package mazeGenerator;
+
+import java.io.IOException;
+
+public interface MazeRowSink {
+
+	/**
+	 * Receives one finished row of a maze which is generated row by row. The arrays are reused
+	 * for the next row, so they must be copied if they are to be kept.
+	 * @param y index of the row, starting at 0
+	 * @param eastWalls eastWalls[x] is true if there is a wall between (x, y) and (x+1, y).
+	 * 		  Always false for the last node in the row.
+	 * @param southWalls southWalls[x] is true if there is a wall between (x, y) and (x, y+1).
+	 * 		  Always false in the last row.
+	 * @throws IOException if the row could not be written
+	 */
+	void acceptRow(int y, boolean[] eastWalls, boolean[] southWalls) throws IOException;
+
+}
@@ -0,0 +1,32 @@
+package mazeGenerator;
+
+import datatypes.Maze;
+
+public class MazeRowWriter implements MazeRowSink {
+
+	private final Maze maze;
+
+	/**
+	 * Creates a row sink which writes each row it receives into the given maze, e.g. a maze
+	 * backed by a memory-mapped file. The maze must have all its walls when the first row
+	 * arrives.
+	 * @param maze to write the rows into
+	 */
+	public MazeRowWriter(Maze maze) {
+		this.maze = maze;
+	}
+
+	@Override
+	public void acceptRow(int y, boolean[] eastWalls, boolean[] southWalls) {
+		int width = maze.getWidth();
+		for (int x = 0; x < width; x++) {
+			if (x < width-1 && !eastWalls[x]) {
+				maze.removeWall(x, y, x+1, y);
+			}
+			if (y < maze.getHeight()-1 && !southWalls[x]) {
+				maze.removeWall(x, y, x, y+1);
+			}
+		}
+	}
+
+}
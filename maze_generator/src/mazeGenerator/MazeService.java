@@ -0,0 +1,140 @@
+package mazeGenerator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import datatypes.Maze;
+import metrics.MazeGenMetrics;
+
+public class MazeService implements AutoCloseable {
+
+	private final Executor executor;
+	// Only executors created by the service itself are shut down by close
+	private final ExecutorService ownedExecutor;
+
+	/**
+	 * Constructs a service generating mazes on the common ForkJoinPool.
+	 */
+	public MazeService() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a service generating mazes on the given executor. Every maze is generated by
+	 * a single task, and no Swing or AWT classes are used.
+	 * @param executor running the generation tasks
+	 */
+	public MazeService(Executor executor) {
+		this(executor, null);
+	}
+
+	private MazeService(Executor executor, ExecutorService ownedExecutor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor cannot be null");
+		}
+		this.executor = executor;
+		this.ownedExecutor = ownedExecutor;
+	}
+
+	/**
+	 * Constructs a service which generates every maze on a virtual thread of its own, which
+	 * suits a large number of concurrent requests. Virtual threads are looked up at runtime, 
+	 * so this only works on a JDK which has them.
+	 * @return the service, which should be closed when no longer needed
+	 * @throws UnsupportedOperationException if the JDK does not support virtual threads
+	 */
+	public static MazeService withVirtualThreads() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			ExecutorService executor = (ExecutorService) factory.invoke(null);
+			return new MazeService(executor, executor);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads are not supported by Java "
+					+ System.getProperty("java.version"), e);
+		}
+	}
+
+	/**
+	 * Checks whether the running JDK supports virtual threads.
+	 * @return true if withVirtualThreads can be used
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		try {
+			Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Generates the maze described by the given spec on the executor of the service. 
+	 * Cancelling the returned future stops the generation the next time the maze changes.
+	 * Mazes which complete their future are counted in MazeGenMetrics. If the executor does not accept the task,
+	 * for example after close or when a bounded executor is full, the future completes 
+	 * exceptionally with the RejectedExecutionException instead of it being thrown.
+	 * @param spec of the maze
+	 * @return future completing with the finished maze
+	 */
+	public CompletableFuture<Maze> generate(MazeSpec spec) {
+		CompletableFuture<Maze> future = new CompletableFuture<Maze>();
+		GenerationListener listener = new GenerationListener() {
+			@Override
+			public boolean isCancelled() {
+				return future.isDone();
+			}
+
+			@Override
+			public void update(Maze maze) {
+				// Nothing is animated, so the maze is never updated
+			}
+		};
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (future.isDone()) {
+						return;
+					}
+					try {
+						MazeGen gen = spec.createGenerator();
+						gen.generate(listener);
+						// A future which was cancelled in the meantime does not count the maze
+						if (future.complete(gen.getMaze())) {
+							MazeGenMetrics.getInstance().recordMaze(
+									spec.getTileSize() > 0 ? "Tiled" : spec.getType().toString(),
+									gen.getMaze().getCellCount(), gen.getSetupNanos(), 
+									gen.getGenerationNanos());
+						}
+					} catch (InterruptedException e) {
+						future.completeExceptionally(new CompletionException(e));
+					} catch (RuntimeException | Error e) {
+						future.completeExceptionally(e);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Shuts down the executor if it was created by the service, otherwise does nothing. Once 
+	 * its executor is shut down, mazes requested from the service fail with a 
+	 * RejectedExecutionException in their future.
+	 */
+	@Override
+	public void close() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+package mazeGenerator;
+
+import java.util.concurrent.ForkJoinPool;
+
+import program.MazeType;
+
+public class MazeSpec {
+
+	private final MazeType type;
+	private final int width, height;
+	private final long seed;
+	private final int tileSize;
+	private final MazeType[] tileTypes;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Describes a maze to generate without a GUI.
+	 * @param type of maze, i.e. the algorithm to use
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 */
+	public MazeSpec(MazeType type, int width, int height, long seed) {
+		this(type, width, height, seed, 0, new MazeType[0]);
+	}
+
+	/**
+	 * Describes a maze to generate without a GUI, split into tiles which are generated in
+	 * parallel, see MazeGenTiled.
+	 * @param type of maze, used for the tiles if tileTypes is empty
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param tileSize width and height of a tile in nodes, or 0 to generate the maze as a whole
+	 * @param tileTypes maze types the tiles pick from at random
+	 */
+	public MazeSpec(MazeType type, int width, int height, long seed, int tileSize,
+					MazeType[] tileTypes) {
+		this(type, width, height, seed, tileSize, tileTypes, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Describes a maze to generate without a GUI, where the parallel generators and the tiles
+	 * split their work on the given pool, see MazeGen.setPool.
+	 * @param type of maze, used for the tiles if tileTypes is empty
+	 * @param width of the maze measured in number of nodes
+	 * @param height of the maze measured in number of nodes
+	 * @param seed to generate a maze identical each time, or 0 for a random seed
+	 * @param tileSize width and height of a tile in nodes, or 0 to generate the maze as a whole
+	 * @param tileTypes maze types the tiles pick from at random
+	 * @param pool of type ForkJoinPool, running the parallel work of the generator
+	 */
+	public MazeSpec(MazeType type, int width, int height, long seed, int tileSize,
+					MazeType[] tileTypes, ForkJoinPool pool) {
+		if (type == null) {
+			throw new IllegalArgumentException("Maze type cannot be null");
+		}
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException("Invalid maze dimensions, got width: " + width
+					+ " height: " + height);
+		}
+		if (tileSize < 0) {
+			throw new IllegalArgumentException("Tile size cannot be negative, got " + tileSize);
+		}
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool cannot be null");
+		}
+		this.type = type;
+		this.width = width;
+		this.height = height;
+		this.seed = seed;
+		this.tileSize = tileSize;
+		this.tileTypes = tileTypes.clone();
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the maze type.
+	 * @return type of maze
+	 */
+	public MazeType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the width of the maze, measured in nodes.
+	 * @return width in nodes
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the maze, measured in nodes.
+	 * @return height in nodes
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the seed of the maze.
+	 * @return seed, 0 if a random seed is used
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns the size of the tiles.
+	 * @return tile size in nodes, 0 if the maze is not split into tiles
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Returns the maze types the tiles pick from.
+	 * @return array of MazeType, empty if every tile uses the maze type
+	 */
+	public MazeType[] getTileTypes() {
+		return tileTypes.clone();
+	}
+
+	/**
+	 * Returns the pool the parallel work of the generator runs on.
+	 * @return pool of type ForkJoinPool, the common pool unless given
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Creates a generator for the maze described by this spec, without animation or drawer.
+	 * @return A MazeGen instance
+	 */
+	public MazeGen createGenerator() {
+		MazeGen gen;
+		if (tileSize > 0) {
+			MazeType[] types = tileTypes.length > 0 ? tileTypes : new MazeType[] {type};
+			gen = new MazeGenTiled(width, height, null, seed, false, 0, tileSize, types);
+		} else {
+			gen = MazeGenFactory.create(type, width, height, null, seed, false, 0);
+		}
+		gen.setPool(pool);
+		return gen;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + width + "x" + height + " seed: " + seed
+				+ (tileSize > 0 ? " tiles: " + tileSize : "");
+	}
+
+}
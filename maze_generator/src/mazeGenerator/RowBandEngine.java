@@ -0,0 +1,123 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import datatypes.Maze;
+
+public abstract class RowBandEngine {
+
+	/** Number of rows in a band, each band is carved by one task with its own random stream */
+	public static final int BAND_ROWS = Maze.CONCURRENT_BAND_ROWS;
+
+	protected final Maze maze;
+	protected final int width, height;
+	private final long seed;
+
+	/**
+	 * Constructs an engine for algorithms where every row can be carved on its own, given a
+	 * random stream. The rows are split into bands of BAND_ROWS rows, and every band gets a
+	 * random stream derived from the seed and the index of the band, so the maze only depends
+	 * on the seed, not on how many threads carve it or in which order the bands are carved.
+	 * The maze is expected to have all its walls.
+	 * @param maze to carve the passages in
+	 * @param seed from which the random stream of every band is derived
+	 */
+	public RowBandEngine(Maze maze, long seed) {
+		this.maze = maze;
+		this.width = maze.getWidth();
+		this.height = maze.getHeight();
+		this.seed = seed;
+	}
+
+	/**
+	 * Carves the passages of row y. Only walls to the east and south of the cells in row y may
+	 * be removed, using maze.carveConcurrently, since other bands are carved at the same time.
+	 * @param y index of the row
+	 * @param rnd random stream of the band the row is in
+	 */
+	protected abstract void carveRow(int y, SplittableRandom rnd);
+
+	/**
+	 * Returns the number of bands in the maze.
+	 * @return amount of bands
+	 */
+	public int getBandCount() {
+		return (height + BAND_ROWS - 1) / BAND_ROWS;
+	}
+
+	/**
+	 * Creates the random stream of the given band.
+	 * @param band index of the band
+	 * @return the random stream, the same every time for the same seed and band
+	 */
+	public SplittableRandom bandRandom(int band) {
+		// Murmur3 finalizer, so neighbouring bands do not get overlapping streams
+		long z = seed + (band + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return new SplittableRandom(z ^ (z >>> 33));
+	}
+
+	/**
+	 * Carves every row of the given band, in order from the top.
+	 * @param band index of the band
+	 */
+	public void carveBand(int band) {
+		SplittableRandom rnd = bandRandom(band);
+		int end = Math.min(height, (band + 1) * BAND_ROWS);
+		for (int y = band * BAND_ROWS; y < end; y++) {
+			carveRow(y, rnd);
+		}
+	}
+
+	/**
+	 * Carves the whole maze with the bands split between the threads of the given pool, and
+	 * recounts the walls of the maze afterwards.
+	 * @param pool of type ForkJoinPool, running the bands
+	 */
+	public void generate(ForkJoinPool pool) {
+		carveBands(pool, 0, getBandCount());
+		maze.recountWalls();
+	}
+
+	/**
+	 * Carves a range of bands with the bands split between the threads of the given pool. The
+	 * walls of the maze must be recounted when every band is carved.
+	 * @param pool of type ForkJoinPool, running the bands
+	 * @param from index of the first band
+	 * @param to index of the band after the last one
+	 */
+	public void carveBands(ForkJoinPool pool, int from, int to) {
+		if (from < to) {
+			pool.invoke(new BandTask(from, to));
+		}
+	}
+
+	/**
+	 * Splits a range of bands in half until a single band is left, which is then carved.
+	 */
+	private class BandTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final int from, to;
+
+		BandTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				carveBand(from);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new BandTask(from, mid), new BandTask(mid, to));
+		}
+
+	}
+
+}
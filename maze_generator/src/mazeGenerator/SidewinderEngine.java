@@ -0,0 +1,42 @@
+package mazeGenerator;
+
+import java.util.SplittableRandom;
+
+import datatypes.Maze;
+
+public class SidewinderEngine extends RowBandEngine {
+
+	/**
+	 * Constructs the Sidewinder algorithm. Every row is split into random runs of cells joined
+	 * to the east, and each run opens one passage south from a random cell in the run. The
+	 * last row is a single run which is open all the way. The usual algorithm carves north from
+	 * a first row which is open, this is the same algorithm mirrored, so that a cell only ever
+	 * removes its own east and south walls.
+	 * @param maze to carve the passages in
+	 * @param seed from which the random stream of every band is derived
+	 */
+	public SidewinderEngine(Maze maze, long seed) {
+		super(maze, seed);
+	}
+
+	@Override
+	protected void carveRow(int y, SplittableRandom rnd) {
+		if (y == height-1) {
+			for (int x = 0; x < width-1; x++) {
+				maze.carveConcurrently(x, y, Maze.EAST);
+			}
+			return;
+		}
+		int runStart = 0;
+		for (int x = 0; x < width; x++) {
+			if (x == width-1 || rnd.nextBoolean()) {
+				int down = runStart + rnd.nextInt(x - runStart + 1);
+				maze.carveConcurrently(down, y, Maze.SOUTH);
+				runStart = x + 1;
+			} else {
+				maze.carveConcurrently(x, y, Maze.EAST);
+			}
+		}
+	}
+
+}
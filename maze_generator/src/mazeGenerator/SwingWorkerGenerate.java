@@ -1,16 +1,23 @@
 package mazeGenerator;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.SwingWorker;
 
 import datatypes.Maze;
+import datatypes.MazeDelta;
+import metrics.MazeGenMetrics;
 import program.MazeGenerator;
 
-public class SwingWorkerGenerate extends SwingWorker<Integer, int[][]> {
+public class SwingWorkerGenerate extends SwingWorker<Integer, MazeDelta> implements GenerationListener {
 	
 	private MazeDrawer drawer;
 	private MazeGenerator generator;
+	// Maze being generated, drawn as a whole when a full delta is published
+	private volatile Maze maze;
+	// Frames published but not yet drawn by the event dispatch thread
+	private final AtomicInteger pendingFrames = new AtomicInteger();
 	
 	/**
 	 * Creates the SwingWorker for generating the maze using the generation algorithm
@@ -42,20 +49,44 @@ public class SwingWorkerGenerate extends SwingWorker<Integer, int[][]> {
 	/**
 	 * Runs whenever the publish method is called in order to update the UI when need.
 	 * This will update the maze in the UI animating the progress of the generation algorithm.
+	 * The changes are applied in the order they were published.
 	 */
 	@Override
-	protected void process(List<int[][]> chunks) {
-		for (int[][] mazeBitmap : chunks) {
-			drawer.updateMaze(mazeBitmap);
+	protected void process(List<MazeDelta> chunks) {
+		for (MazeDelta delta : chunks) {
+			if (delta.isFull()) {
+				drawer.updateMaze(maze);
+			} else {
+				drawer.applyDelta(delta);
+			}
 		}
+		MazeGenMetrics.getInstance().setAnimationQueueDepth(
+				pendingFrames.addAndGet(-chunks.size()));
 	}
 	
 	/**
-	 * Updates the maze such that animation will happen while maze is being generated.
+	 * Updates the maze such that animation will happen while maze is being generated. Only
+	 * the changes since the last update are published, unless the whole maze changed, in 
+	 * which case the maze is drawn again as a whole. While the last frame has 
+	 * not been drawn yet, the frame is skipped and its changes are left in the maze, such 
+	 * that the next frame draws them.
 	 * @param maze
 	 */
+	@Override
 	public void update(Maze maze) {
-		publish(MazeDrawer.generateBitmap(maze));
+		if (pendingFrames.get() > 0) {
+			return;
+		}
+		this.maze = maze;
+		MazeDelta delta = maze.takeChanges();
+		if (delta == null) {
+			delta = new MazeDelta();
+			delta.markFull();
+		}
+		if (!delta.isEmpty()) {
+			MazeGenMetrics.getInstance().setAnimationQueueDepth(pendingFrames.incrementAndGet());
+			publish(delta);
+		}
 	}
 	
 	/**
@@ -64,6 +95,8 @@ public class SwingWorkerGenerate extends SwingWorker<Integer, int[][]> {
 	 */
 	@Override
 	protected void done() {
+		// Frames still queued when the generation was cancelled are never drawn
+		MazeGenMetrics.getInstance().setAnimationQueueDepth(0);
 		if (MazeGenerator.DEBUG) {
 			if (isCancelled()) {
 				System.out.println("Cancelled!");
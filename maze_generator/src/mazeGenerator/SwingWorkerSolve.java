@@ -0,0 +1,45 @@
+package mazeGenerator;
+
+import javax.swing.SwingWorker;
+
+import program.MazeGenerator;
+
+public class SwingWorkerSolve extends SwingWorker<Integer, Void> {
+	
+	private MazeGenerator generator;
+	
+	/**
+	 * Creates the SwingWorker for solving the last generated maze with the solver selected
+	 * in the generator, such that the UI does not freeze while a large maze is solved.
+	 * @param generator, the main program class solving and drawing the maze
+	 */
+	public SwingWorkerSolve(MazeGenerator generator) {
+		super();
+		this.generator = generator;
+	}
+	
+	/**
+	 * Solves the maze on the worker thread.
+	 */
+	protected Integer doInBackground() throws Exception {
+		try {
+			generator.solve();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return -1;
+		}
+		return 0;
+	}
+	
+	/**
+	 * Runs when the swingworker is done.
+	 */
+	@Override
+	protected void done() {
+		if (MazeGenerator.DEBUG) {
+			System.out.println("Solved!");
+		}
+		super.done();
+	}
+
+}
@@ -0,0 +1,205 @@
+package mazeGenerator;
+
+import java.util.Random;
+
+import datatypes.Maze;
+
+public class WilsonEngine {
+
+	private final Maze maze;
+	private final Random rnd;
+	private final int width, cellCount;
+	private final long[] inTree;
+	// Direction the walk last left each cell in, overwriting it erases the loops of the walk
+	private final byte[] exitDir;
+	// Cells added to the tree by the last walk, in order from the start of the walk
+	private int[] path = new int[1024];
+	private int pathLength = 0;
+	private int treeSize = 0;
+	private int walker = -1;
+	private int nextStart = 0;
+
+	/**
+	 * Constructs Wilson's algorithm, which carves a uniformly random spanning tree, i.e. every
+	 * perfect maze of the given size is equally likely. Cells are joined to the tree by random
+	 * walks from a cell outside the tree until the walk hits the tree, with every loop of the
+	 * walk erased. The walk is recorded as one exit direction per cell in a byte array.
+	 * The maze is expected to have all its walls.
+	 * @param maze to carve the passages in
+	 * @param rnd, of type java.util.Random, used for every random step
+	 */
+	public WilsonEngine(Maze maze, Random rnd) {
+		this.maze = maze;
+		this.rnd = rnd;
+		this.width = maze.getWidth();
+		this.cellCount = maze.getCellCount();
+		this.inTree = new long[(cellCount + 63) >>> 6];
+		this.exitDir = new byte[cellCount];
+	}
+
+	/**
+	 * Starts the tree in the given cell. Must be called once before any walks.
+	 * @param cell id of the root cell
+	 */
+	public void start(int cell) {
+		addToTree(cell);
+		walker = cell;
+	}
+
+	/**
+	 * Moves the Aldous-Broder walker, which starts in the root cell, one step to a random
+	 * neighbour and joins that neighbour to the tree if it is not already in it. Walking until
+	 * every cell is in the tree gives a uniform spanning tree on its own. Stopping early and
+	 * finishing with loop-erased walks builds the first part of the tree faster, while it is
+	 * too small for the walks to hit it quickly, but the result is then no longer exactly
+	 * uniform.
+	 * @return cell id of the cell joined to the tree, or -1 if the walker stepped into the tree
+	 */
+	public int aldousBroderStep() {
+		int dir = randomDirection(walker);
+		int next = maze.neighbour(walker, dir);
+		int cell = walker;
+		walker = next;
+		if (isInTree(next)) {
+			return -1;
+		}
+		maze.carve(cell, dir);
+		addToTree(next);
+		return next;
+	}
+
+	/**
+	 * Runs the Aldous-Broder walker until the tree holds the given number of cells.
+	 * @param cells number of cells the tree should hold
+	 */
+	public void aldousBroder(int cells) {
+		cells = Math.min(cells, cellCount);
+		while (treeSize < cells) {
+			aldousBroderStep();
+		}
+	}
+
+	/**
+	 * Joins the first cell outside the tree to the tree with a loop-erased random walk. The
+	 * cells joined can be read with getPathLength and getPathCell afterwards.
+	 * @return number of cells joined to the tree, 0 if every cell is in the tree
+	 */
+	public int walk() {
+		pathLength = 0;
+		while (nextStart < cellCount && isInTree(nextStart)) {
+			nextStart++;
+		}
+		if (nextStart == cellCount) {
+			return 0;
+		}
+		int cell = nextStart;
+		while (!isInTree(cell)) {
+			int dir = randomDirection(cell);
+			exitDir[cell] = (byte) dir;
+			cell = maze.neighbour(cell, dir);
+		}
+		// Follow the last exit of every cell from the start, which skips every loop
+		cell = nextStart;
+		while (!isInTree(cell)) {
+			int next = maze.carve(cell, exitDir[cell]);
+			addToTree(cell);
+			push(cell);
+			cell = next;
+		}
+		return pathLength;
+	}
+
+	/**
+	 * Runs loop-erased walks until every cell is in the tree.
+	 */
+	public void run() {
+		while (walk() > 0) {
+			// Keep walking
+		}
+	}
+
+	/**
+	 * Returns the number of cells joined to the tree by the last walk.
+	 * @return int amount of cells in the path
+	 */
+	public int getPathLength() {
+		return pathLength;
+	}
+
+	/**
+	 * Fetches the i'th cell joined to the tree by the last walk.
+	 * @param i index of the cell, between 0 and getPathLength()-1
+	 * @return cell id
+	 */
+	public int getPathCell(int i) {
+		if (i < 0 || i >= pathLength) {
+			throw new IllegalArgumentException("Must have 0 < i < getPathLength(), got i=" + i);
+		}
+		return path[i];
+	}
+
+	/**
+	 * Returns the number of cells in the tree.
+	 * @return int amount of cells joined so far
+	 */
+	public int getTreeSize() {
+		return treeSize;
+	}
+
+	/**
+	 * Checks whether the given cell is in the tree.
+	 * @param cell id
+	 * @return true if the cell has been joined to the tree
+	 */
+	public boolean isInTree(int cell) {
+		return (inTree[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Picks a random direction leading to a cell inside the maze. Directions out of the maze
+	 * are drawn again, which is cheaper than counting the neighbours.
+	 */
+	private int randomDirection(int cell) {
+		int x = cell % width;
+		while (true) {
+			int dir = rnd.nextInt(4);
+			switch (dir) {
+				case Maze.WEST:
+					if (x > 0) {
+						return dir;
+					}
+					break;
+				case Maze.EAST:
+					if (x < width-1) {
+						return dir;
+					}
+					break;
+				case Maze.NORTH:
+					if (cell >= width) {
+						return dir;
+					}
+					break;
+				default:
+					if (cell < cellCount - width) {
+						return dir;
+					}
+					break;
+			}
+		}
+	}
+
+	private void addToTree(int cell) {
+		inTree[cell >>> 6] |= 1L << cell;
+		treeSize++;
+	}
+
+	private void push(int cell) {
+		if (pathLength == path.length) {
+			int[] grown = new int[(int) Math.min(cellCount, 2L * path.length)];
+			System.arraycopy(path, 0, grown, 0, pathLength);
+			path = grown;
+		}
+		path[pathLength++] = cell;
+	}
+
+}
@@ -0,0 +1,203 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class MazeGenMetrics implements MazeGenMetricsMXBean {
+
+	/** Name the metrics are registered under in the platform MBean server */
+	public static final String OBJECT_NAME = "mazeGenerator:type=MazeGenMetrics";
+	private static final double NANOS_PER_MILLI = 1e6;
+	private static final double NANOS_PER_SECOND = 1e9;
+	private static final MazeGenMetrics instance = new MazeGenMetrics();
+
+	private final Map<String, Long> mazesGenerated = new LinkedHashMap<>();
+	private long cellsCarved;
+	private long lastCells;
+	private final PhaseTimes setup = new PhaseTimes();
+	private final PhaseTimes generation = new PhaseTimes();
+	private final PhaseTimes render = new PhaseTimes();
+	private volatile int queueDepth;
+
+	/**
+	 * Constructs the counters and timings of the program. There is one instance, shared by
+	 * the generation worker, the event dispatch thread and the MBean server reading it, so
+	 * every method is synchronized, except for the animation queue depth which is only set
+	 * and read.
+	 */
+	private MazeGenMetrics() {
+	}
+
+	/**
+	 * Returns the metrics of the program.
+	 * @return the one instance of MazeGenMetrics
+	 */
+	public static MazeGenMetrics getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Registers the metrics in the platform MBean server under OBJECT_NAME, such that they
+	 * can be watched with JConsole or VisualVM. A failure is reported, but does not stop the
+	 * program.
+	 */
+	public static void register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(instance,
+					new ObjectName(OBJECT_NAME));
+		} catch (JMException e) {
+			System.err.println("Could not register the generation metrics: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Records a finished maze and the time spent on setting it up and generating it.
+	 * @param type name of the maze type
+	 * @param cells number of cells carved into the maze
+	 * @param setupNanos nanoseconds spent filling the maze with walls
+	 * @param generationNanos nanoseconds spent carving the maze
+	 */
+	public synchronized void recordMaze(String type, long cells, long setupNanos,
+										long generationNanos) {
+		Long count = mazesGenerated.get(type);
+		mazesGenerated.put(type, count == null ? 1 : count + 1);
+		cellsCarved += cells;
+		lastCells = cells;
+		setup.record(setupNanos);
+		generation.record(generationNanos);
+	}
+
+	/**
+	 * Records the time from a whole maze being handed to the canvas until it was painted.
+	 * @param nanos nanoseconds spent rendering the maze
+	 */
+	public synchronized void recordRender(long nanos) {
+		render.record(nanos);
+	}
+
+	/**
+	 * Sets the number of animation frames published but not yet drawn.
+	 * @param depth number of frames waiting to be drawn
+	 */
+	public void setAnimationQueueDepth(int depth) {
+		queueDepth = depth;
+	}
+
+	@Override
+	public synchronized Map<String, Long> getMazesGenerated() {
+		return new LinkedHashMap<>(mazesGenerated);
+	}
+
+	@Override
+	public synchronized long getTotalMazesGenerated() {
+		return generation.count;
+	}
+
+	@Override
+	public synchronized long getCellsCarved() {
+		return cellsCarved;
+	}
+
+	@Override
+	public synchronized double getCellsPerSecond() {
+		return perSecond(lastCells, generation.last);
+	}
+
+	@Override
+	public synchronized double getMeanCellsPerSecond() {
+		return perSecond(cellsCarved, generation.total);
+	}
+
+	@Override
+	public synchronized double getLastSetupMillis() {
+		return setup.last / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMeanSetupMillis() {
+		return setup.mean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMaxSetupMillis() {
+		return setup.max / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getLastGenerationMillis() {
+		return generation.last / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMeanGenerationMillis() {
+		return generation.mean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMaxGenerationMillis() {
+		return generation.max / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getLastRenderMillis() {
+		return render.last / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMeanRenderMillis() {
+		return render.mean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public synchronized double getMaxRenderMillis() {
+		return render.max / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public int getAnimationQueueDepth() {
+		return queueDepth;
+	}
+
+	@Override
+	public synchronized void reset() {
+		mazesGenerated.clear();
+		cellsCarved = 0;
+		lastCells = 0;
+		setup.reset();
+		generation.reset();
+		render.reset();
+	}
+
+	private static double perSecond(long cells, long nanos) {
+		return nanos <= 0 ? 0 : cells * NANOS_PER_SECOND / nanos;
+	}
+
+	/**
+	 * Durations of one phase, in nanoseconds.
+	 */
+	private static class PhaseTimes {
+
+		private long count, total, last, max;
+
+		void record(long nanos) {
+			count++;
+			total += nanos;
+			last = nanos;
+			max = Math.max(max, nanos);
+		}
+
+		double mean() {
+			return count == 0 ? 0 : (double) total / count;
+		}
+
+		void reset() {
+			count = total = last = max = 0;
+		}
+
+	}
+
+}
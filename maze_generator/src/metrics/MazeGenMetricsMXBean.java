@@ -0,0 +1,111 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of MazeGenMetrics, the counters and timings of the running program
+ * which can be read with JConsole or VisualVM. The durations are measured with
+ * System.nanoTime and given in milliseconds. Every duration is 0 until the first sample of
+ * its phase after the start of the program or the last reset.
+ */
+public interface MazeGenMetricsMXBean {
+
+	/**
+	 * Returns the number of mazes generated of every maze type.
+	 * @return map from the name of the maze type to the number of mazes generated
+	 */
+	Map<String, Long> getMazesGenerated();
+
+	/**
+	 * Returns the number of mazes generated of all types.
+	 * @return number of mazes generated
+	 */
+	long getTotalMazesGenerated();
+
+	/**
+	 * Returns the number of cells carved into all the mazes generated.
+	 * @return number of cells carved
+	 */
+	long getCellsCarved();
+
+	/**
+	 * Returns the number of cells carved per second during the generation of the last maze.
+	 * @return cells per second, 0 if no maze has been generated
+	 */
+	double getCellsPerSecond();
+
+	/**
+	 * Returns the number of cells carved per second over all the mazes generated.
+	 * @return cells per second, 0 if no maze has been generated
+	 */
+	double getMeanCellsPerSecond();
+
+	/**
+	 * Returns the duration of the last setup phase, filling the maze with walls before 
+	 * carving it.
+	 * @return duration in milliseconds
+	 */
+	double getLastSetupMillis();
+
+	/**
+	 * Returns the mean duration of the setup phase over all mazes since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMeanSetupMillis();
+
+	/**
+	 * Returns the longest duration of the setup phase since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMaxSetupMillis();
+
+	/**
+	 * Returns the duration of the last generation phase, carving the maze.
+	 * @return duration in milliseconds
+	 */
+	double getLastGenerationMillis();
+
+	/**
+	 * Returns the mean duration of the generation phase over all mazes since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMeanGenerationMillis();
+
+	/**
+	 * Returns the longest duration of the generation phase since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMaxGenerationMillis();
+
+	/**
+	 * Returns the duration of the last render phase, from a whole maze being handed to the 
+	 * canvas until it was painted. Whole mazes are also drawn during an animation, each of 
+	 * which is a render.
+	 * @return duration in milliseconds
+	 */
+	double getLastRenderMillis();
+
+	/**
+	 * Returns the mean duration of the render phase over all renders since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMeanRenderMillis();
+
+	/**
+	 * Returns the longest duration of the render phase since the last reset.
+	 * @return duration in milliseconds
+	 */
+	double getMaxRenderMillis();
+
+	/**
+	 * Returns the number of animation frames published but not yet drawn.
+	 * @return number of frames waiting to be drawn
+	 */
+	int getAnimationQueueDepth();
+
+	/**
+	 * Sets every counter and timing back to zero.
+	 */
+	void reset();
+
+}
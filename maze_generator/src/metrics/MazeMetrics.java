@@ -0,0 +1,108 @@
+package metrics;
+
+import java.util.Arrays;
+
+import datatypes.Maze;
+import solver.BFSSolver;
+
+public class MazeMetrics {
+
+	private final Maze maze;
+	private final int width;
+
+	/**
+	 * Constructs a calculator of the metrics of the given maze, telling how the mazes of the
+	 * different algorithms differ: how many dead ends and junctions they have, how long their
+	 * corridors are and how long the longest path through them is. The metrics are computed
+	 * in time linear in the number of cells, reading the walls straight from the maze, with
+	 * one bit per cell besides the searches for the longest path. The maze must not change
+	 * while it is being measured.
+	 * @param maze to measure
+	 */
+	public MazeMetrics(Maze maze) {
+		this.maze = maze;
+		this.width = maze.getWidth();
+	}
+
+	/**
+	 * Measures the maze.
+	 * @return report with the metrics of the maze
+	 */
+	public MazeMetricsReport measure() {
+		int cellCount = maze.getCellCount();
+		int[] degreeCounts = new int[5];
+		int[] lengthCounts = new int[16];
+		int longest = 0;
+		long deadEndCorridors = 0;
+		long deadEndSteps = 0;
+		// Cells in the middle of a corridor which has been walked already
+		long[] walked = new long[(cellCount + 63) >>> 6];
+		for (int cell = 0; cell < cellCount; cell++) {
+			int open = maze.openDirections(cell);
+			int degree = Integer.bitCount(open);
+			degreeCounts[degree]++;
+			if (degree == 2) {
+				continue;
+			}
+			// Walk every corridor from its ends, each corridor is counted from one end only
+			while (open != 0) {
+				int dir = Integer.numberOfTrailingZeros(open);
+				open &= open - 1;
+				int current = move(cell, dir);
+				int currentOpen = maze.openDirections(current);
+				if (Integer.bitCount(currentOpen) == 2) {
+					if ((walked[current >>> 6] & (1L << current)) != 0) {
+						continue;
+					}
+				} else if (current < cell) {
+					continue;
+				}
+				int length = 1;
+				while (Integer.bitCount(currentOpen) == 2) {
+					walked[current >>> 6] |= 1L << current;
+					dir = Integer.numberOfTrailingZeros(currentOpen & ~(1 << Maze.opposite(dir)));
+					current = move(current, dir);
+					currentOpen = maze.openDirections(current);
+					length++;
+				}
+				if (length >= lengthCounts.length) {
+					lengthCounts = Arrays.copyOf(lengthCounts, Math.max(length + 1,
+																		2 * lengthCounts.length));
+				}
+				lengthCounts[length]++;
+				longest = Math.max(longest, length);
+				if (degree == 1 || Integer.bitCount(currentOpen) == 1) {
+					deadEndCorridors++;
+					deadEndSteps += length;
+				}
+			}
+		}
+		// In a perfect maze the cell farthest from any cell is an end of a longest path, and
+		// the cell farthest from that end is the other end
+		BFSSolver bfs = new BFSSolver(maze);
+		int entrance = bfs.farthestCell(0);
+		int exit = bfs.farthestCell(entrance);
+		double deadEndLength = deadEndCorridors == 0 ? 0 
+				: (double) deadEndSteps / deadEndCorridors;
+		return new MazeMetricsReport(maze.getWidth(), maze.getHeight(), degreeCounts,
+									 Arrays.copyOf(lengthCounts, longest + 1),
+									 bfs.getFarthestDistance(), entrance, exit, deadEndLength);
+	}
+
+	/**
+	 * Returns the cell next to the given cell in the given direction.
+	 */
+	private int move(int cell, int dir) {
+		switch (dir) {
+			case Maze.WEST:
+				return cell - 1;
+			case Maze.EAST:
+				return cell + 1;
+			case Maze.NORTH:
+				return cell - width;
+			default:
+				return cell + width;
+		}
+	}
+
+}
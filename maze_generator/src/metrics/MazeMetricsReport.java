@@ -0,0 +1,187 @@
+package metrics;
+
+public final class MazeMetricsReport {
+
+	private final int width, height;
+	private final int[] degreeCounts;
+	private final int[] corridorLengthCounts;
+	private final long corridorCount;
+	private final long corridorSteps;
+	private final int diameter;
+	private final int entrance, exit;
+	private final double deadEndLength;
+
+	/**
+	 * Constructs a report holding the metrics of a maze, made by MazeMetrics. The report
+	 * does not change after it is made, and the arrays are copied in and out of it.
+	 * @param width of the maze in nodes
+	 * @param height of the maze in nodes
+	 * @param degreeCounts number of cells with 0 to 4 open sides
+	 * @param corridorLengthCounts number of corridors of every length, indexed by length
+	 * @param diameter length of the longest shortest path found
+	 * @param entrance cell id at one end of the longest path
+	 * @param exit cell id at the other end of the longest path
+	 * @param deadEndLength mean length of the corridors leading to a dead end
+	 */
+	MazeMetricsReport(int width, int height, int[] degreeCounts, int[] corridorLengthCounts,
+					  int diameter, int entrance, int exit, double deadEndLength) {
+		this.width = width;
+		this.height = height;
+		this.degreeCounts = degreeCounts.clone();
+		this.corridorLengthCounts = corridorLengthCounts.clone();
+		long count = 0;
+		long steps = 0;
+		for (int length = 0; length < corridorLengthCounts.length; length++) {
+			count += corridorLengthCounts[length];
+			steps += (long) length * corridorLengthCounts[length];
+		}
+		this.corridorCount = count;
+		this.corridorSteps = steps;
+		this.diameter = diameter;
+		this.entrance = entrance;
+		this.exit = exit;
+		this.deadEndLength = deadEndLength;
+	}
+
+	/**
+	 * Returns the width of the measured maze.
+	 * @return width in nodes
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the measured maze.
+	 * @return height in nodes
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the number of cells with the given number of open sides.
+	 * @param degree number of open sides, between 0 and 4
+	 * @return number of cells with that many open sides
+	 */
+	public int getDegreeCount(int degree) {
+		if (degree < 0 || degree >= degreeCounts.length) {
+			throw new IllegalArgumentException("Degree must be between 0 and 4, got " + degree);
+		}
+		return degreeCounts[degree];
+	}
+
+	/**
+	 * Returns the number of dead ends, the cells with only one open side.
+	 * @return number of dead ends
+	 */
+	public int getDeadEndCount() {
+		return degreeCounts[1];
+	}
+
+	/**
+	 * Returns the number of junctions, the cells where the path branches because they have
+	 * three or four open sides.
+	 * @return number of junctions
+	 */
+	public int getJunctionCount() {
+		return degreeCounts[3] + degreeCounts[4];
+	}
+
+	/**
+	 * Returns the number of corridors, the passages between two dead ends or junctions where
+	 * every cell in between has exactly two open sides. Loops without any dead end or
+	 * junction on them are not counted.
+	 * @return number of corridors
+	 */
+	public long getCorridorCount() {
+		return corridorCount;
+	}
+
+	/**
+	 * Returns the number of corridors of every length, where the length is the number of
+	 * steps from one end of the corridor to the other.
+	 * @return array with the number of corridors of length i at index i
+	 */
+	public int[] getCorridorLengthCounts() {
+		return corridorLengthCounts.clone();
+	}
+
+	/**
+	 * Returns the length of the longest corridor.
+	 * @return number of steps through the longest corridor, 0 if there are no corridors
+	 */
+	public int getLongestCorridor() {
+		return Math.max(0, corridorLengthCounts.length - 1);
+	}
+
+	/**
+	 * Returns the mean length of the corridors.
+	 * @return mean number of steps through a corridor, 0 if there are no corridors
+	 */
+	public double getMeanCorridorLength() {
+		return corridorCount == 0 ? 0 : (double) corridorSteps / corridorCount;
+	}
+
+	/**
+	 * Returns the diameter of the maze, the length of the longest shortest path between two
+	 * cells. It is exact for perfect mazes, and a lower bound for mazes with loops.
+	 * @return number of steps between the entrance and the exit
+	 */
+	public int getDiameter() {
+		return diameter;
+	}
+
+	/**
+	 * Returns the suggested entrance, one end of the longest path through the maze.
+	 * @return cell id of the entrance
+	 */
+	public int getEntrance() {
+		return entrance;
+	}
+
+	/**
+	 * Returns the suggested exit, the other end of the longest path through the maze.
+	 * @return cell id of the exit
+	 */
+	public int getExit() {
+		return exit;
+	}
+
+	/**
+	 * Returns the mean number of steps from a dead end to the junction its corridor leads to.
+	 * @return mean length of the corridors with a dead end, 0 if there are none
+	 */
+	public double getMeanDeadEndLength() {
+		return deadEndLength;
+	}
+
+	/**
+	 * Returns the river factor, the number of cells per dead end. A perfect maze splits into
+	 * as many paths ending in a dead end as it has dead ends, so this is the mean length of
+	 * those paths. Mazes with much river, like those made by DFS, have few and long dead 
+	 * ends, while mazes made by Prim's algorithm have many short ones.
+	 * @return cells per dead end, 0 if there are no dead ends
+	 */
+	public double getRiverFactor() {
+		int deadEnds = getDeadEndCount();
+		return deadEnds == 0 ? 0 : (double) width * height / deadEnds;
+	}
+
+	@Override
+	public String toString() {
+		return "Maze " + width + "x" + height + "\n"
+				+ "Dead ends: " + getDeadEndCount() + "\n"
+				+ "Junctions: " + getJunctionCount() + "\n"
+				+ "Cells with 0-4 open sides: " + degreeCounts[0] + " " + degreeCounts[1] + " "
+				+ degreeCounts[2] + " " + degreeCounts[3] + " " + degreeCounts[4] + "\n"
+				+ "Corridors: " + corridorCount + ", mean length "
+				+ String.format("%.2f", getMeanCorridorLength()) + ", longest "
+				+ getLongestCorridor() + "\n"
+				+ "Diameter: " + diameter + " from (" + entrance % width + ", "
+				+ entrance / width + ") to (" + exit % width + ", " + exit / width + ")\n"
+				+ "Mean dead end length: " + String.format("%.2f", deadEndLength) + "\n"
+				+ "River factor: " + String.format("%.2f", getRiverFactor());
+	}
+
+}
@@ -1,3 +1,6 @@
 module maze_generator {
 	requires java.desktop;
+	requires java.management;
+	
+	exports metrics to java.management;
 }
\ No newline at end of file
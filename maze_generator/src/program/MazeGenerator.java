@@ -1,19 +1,32 @@
 package program;
 
+import datatypes.Maze;
+import mazeExport.MazeRasterizer;
+import mazeGenerator.GenerationListener;
 import mazeGenerator.MazeDrawer;
 import mazeGenerator.MazeGen;
-import mazeGenerator.MazeGenDFS;
-import mazeGenerator.MazeGenPrim;
-import mazeGenerator.SwingWorkerGenerate;
+import mazeGenerator.MazeGenFactory;
+import mazeGenerator.MazeGenTiled;
+import mazeGenerator.MazeGenWilson;
+import metrics.MazeGenMetrics;
+import metrics.MazeMetrics;
+import metrics.MazeMetricsReport;
+import solver.MazeSolver;
+import solver.MazeSolverFactory;
+import solver.SolverType;
 
 public class MazeGenerator {
 	
 	public static boolean DEBUG = false;
 	
-	private int width, height, animationDelay, minDelay, maxDelay;
+	private int width, height, animationDelay, minDelay, maxDelay, animationFps;
 	private MazeType mazeType;
-	private long seed;
-	private boolean timer, animate;
+	private SolverType solverType;
+	private int tileSize;
+	private MazeType[] tileTypes;
+	private int aldousBroderPercent;
+	private long seed, animationDuration;
+	private boolean timer, animate, metrics;
 	
 	private MazeDrawer drawer;
 	private MazeGen gen;
@@ -26,13 +39,20 @@ public class MazeGenerator {
 		setDimensions(width, height);
 
 		this.mazeType = cfg.getMazeType();
+		this.tileSize = cfg.getPositiveInteger("tileSize");
+		this.tileTypes = cfg.getMazeTypes("tileTypes");
+		this.aldousBroderPercent = Math.min(100, cfg.getPositiveInteger("aldousBroderPercent"));
+		this.solverType = cfg.getSolverType();
 
 		this.animate = cfg.getBoolean("animate");
 		this.animationDelay = cfg.getPositiveInteger("animationDelay");
+		this.animationFps = cfg.getPositiveInteger("animationFps");
+		this.animationDuration = cfg.getLong("animationDuration");
 		this.minDelay = cfg.getPositiveInteger("animationSliderMin");
 		this.maxDelay = cfg.getPositiveInteger("animationSliderMax");
 
 		this.timer = cfg.getBoolean("timer");
+		this.metrics = cfg.getBoolean("metrics");
 		
 		this.seed = cfg.getLong("seed");
 
@@ -48,10 +68,8 @@ public class MazeGenerator {
 	 * @param height in blocks
 	 */
 	public void setDimensions(int width, int height) {
-		width = Math.max(5, width);
-		height = Math.max(5, height);
-		width = Math.min(width, 3*height);
-		height = Math.min(height, 3*width);
+		width = Math.min(MazeDrawer.maxDimension, Math.max(5, width));
+		height = Math.min(MazeDrawer.maxDimension, Math.max(5, height));
 		this.width = width;
 		this.height = height;
 	}
@@ -88,6 +106,22 @@ public class MazeGenerator {
 		this.mazeType = mazeType;
 	}
 	
+	/**
+	 * Gets the currently selected solver
+	 * @return SolverType used when the maze is solved
+	 */
+	public SolverType getSolverType() {
+		return solverType;
+	}
+	
+	/**
+	 * Sets the solver used when the maze is solved
+	 * @param solverType
+	 */
+	public void setSolverType(SolverType solverType) {
+		this.solverType = solverType;
+	}
+	
 	/**
 	 * Sets the seed to use for next generation
 	 * @param seed
@@ -128,51 +162,96 @@ public class MazeGenerator {
 	 * @return A MazeGen instance
 	 */
 	private MazeGen makeNewGenerator() {
-		switch (mazeType) {
-			case DFS:
-				gen = new MazeGenDFS(width, height, drawer, seed,
-									 animate, animationDelay);
-				break;
-			case PRIM:
-				gen = new MazeGenPrim(width, height, drawer, seed,
-									  animate, animationDelay);
-				break;
-			default:
-				System.out.println("Invalid maze type, check README.md for guide");
-				break;
+		if (tileSize > 0) {
+			MazeType[] types = tileTypes.length > 0 ? tileTypes : new MazeType[] {mazeType};
+			gen = new MazeGenTiled(width, height, drawer, seed, animate, animationDelay,
+								   tileSize, types);
+		} else {
+			gen = MazeGenFactory.create(mazeType, width, height, drawer, seed,
+										animate, animationDelay);
+			if (gen instanceof MazeGenWilson) {
+				((MazeGenWilson) gen).setAldousBroderPercent(aldousBroderPercent);
+			}
 		}
+		gen.setFramesPerSecond(animationFps);
+		gen.setAnimationDuration(animationDuration);
 		return gen;
 	}
 	
 	/**
 	 * Generates the maze itself, can be called multiple times to create new.
-	 * @param worker of SwingWorker type to run maze generation on separate thread.
+	 * @param worker running the maze generation on a separate thread from the UI.
 	 */
-	public void generate(SwingWorkerGenerate worker) throws InterruptedException {
+	public void generate(GenerationListener worker) throws InterruptedException {
 		makeNewGenerator();
 		drawer.deactivateGenerationBtn();
 		drawer.setSeedValue(gen.getSeed());
 		if (gen != null) {
-			long startTime = 0;
-			long endTime = 0;
-			long elapsed;
-			if (timer) {
-				startTime = System.currentTimeMillis();
-			}
+			long startTime = System.nanoTime();
 			gen.generate(worker);
+			gen.getMaze().recordChanges(false);
 			if (timer) {
-				endTime = System.currentTimeMillis();
-				elapsed = endTime - startTime;
+				long elapsed = (System.nanoTime() - startTime) / 1000000;
 				drawer.showTime();
 				drawer.setTime(elapsed);
 				System.out.println("Time: " + elapsed + "ms");
 			}
+			boolean finished = worker == null || !worker.isCancelled();
+			if (finished) {
+				MazeGenMetrics.getInstance().recordMaze(
+						tileSize > 0 ? "Tiled" : mazeType.toString(), 
+						gen.getMaze().getCellCount(), gen.getSetupNanos(), 
+						gen.getGenerationNanos());
+			}
+			if (metrics && finished) {
+				MazeMetricsReport report = new MazeMetrics(gen.getMaze()).measure();
+				drawer.showMetrics(report);
+				System.out.println(report);
+			}
 			drawer.updateMaze(gen.getMaze());
 			drawer.activateGenerationBtn();
 		}
 	}
 
+	/**
+	 * Finds a shortest path from the top left to the bottom right corner of the last 
+	 * generated maze with the selected solver, and draws it. The nodes on the path are given
+	 * the path value, and every other node the value 0.
+	 */
+	public void solve() {
+		Maze maze = gen == null ? null : gen.getMaze();
+		if (maze == null) {
+			return;
+		}
+		drawer.deactivateSolveBtn();
+		long startTime = System.currentTimeMillis();
+		MazeSolver solver = MazeSolverFactory.create(solverType, maze);
+		int[] path = solver.solve(0, maze.getCellCount() - 1);
+		long elapsed = System.currentTimeMillis() - startTime;
+		maze.setAllNodeValues(0);
+		if (path == null) {
+			System.out.println("No path found");
+		} else {
+			for (int cell : path) {
+				maze.setCellValue(cell, MazeRasterizer.PATH);
+			}
+		}
+		if (timer) {
+			System.out.println("Solve time: " + elapsed + "ms, path length: " 
+					+ (path == null ? 0 : path.length) + ", visited: " 
+					+ solver.getVisitedCount());
+		}
+		drawer.updateMaze(maze);
+		drawer.activateSolveBtn();
+	}
+
 	public static void main(String[] args) {
+		MazeGenMetrics.register();
+		for (String arg : args) {
+			if (arg.equals("--headless")) {
+				System.exit(MazeGeneratorCli.run(args));
+			}
+		}
 		MazeGenerator generator = new MazeGenerator();
 		generator.init("config.conf");
 	}
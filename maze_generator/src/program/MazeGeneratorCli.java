@@ -0,0 +1,261 @@
+package program;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import datatypes.Maze;
+import mazeExport.MazeBinaryWriter;
+import mazeExport.MazePbmWriter;
+import mazeExport.MazePngWriter;
+import mazeExport.MazeTextWriter;
+import mazeGenerator.MazeService;
+import mazeGenerator.MazeSpec;
+
+/**
+ * Generates mazes from the command line without opening any window, e.g.
+ * <pre>
+ * --headless --type prim --width 2000 --height 2000 --seeds 1..100 --threads 8 --out mazes --format bin
+ * </pre>
+ * Every seed gives one file in the output directory, named after the type, size and seed.
+ * No AWT or Swing classes are loaded, so this runs on servers without a display.
+ */
+public class MazeGeneratorCli {
+
+	public static final String USAGE = "Usage: --headless [--type dfs] [--width 64] [--height 36]"
+			+ " [--seeds 1..10 | 1,5,7] [--threads N] [--tile-size 0] [--out .] [--format txt|bin|png|pbm] [--scale 1]";
+
+	private MazeType type = MazeType.DFS;
+	private int width = 64, height = 36;
+	private LongStream seeds = LongStream.of(0);
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int tileSize = 0;
+	private Path out = Paths.get(".");
+	private String format = "txt";
+	private int scale = 1;
+
+	/**
+	 * Parses the arguments and generates the mazes.
+	 * @param args command line arguments, --headless among them
+	 * @return exit code, 0 if every maze was written, 1 if any failed and 2 for bad arguments
+	 */
+	public static int run(String[] args) {
+		MazeGeneratorCli cli = new MazeGeneratorCli();
+		try {
+			cli.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			return 2;
+		}
+		return cli.generate();
+	}
+
+	/**
+	 * Reads the options from the arguments.
+	 * @param args command line arguments
+	 * @throws IllegalArgumentException if an option is unknown or has an invalid value
+	 */
+	public void parse(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("--headless")) {
+				continue;
+			}
+			if (i == args.length-1) {
+				throw new IllegalArgumentException("Missing value for " + arg);
+			}
+			String value = args[++i];
+			try {
+				switch (arg) {
+					case "--type":
+						type = MazeType.valueOf(value.trim().toUpperCase().replace('-', '_'));
+						break;
+					case "--width":
+						width = Integer.parseInt(value);
+						break;
+					case "--height":
+						height = Integer.parseInt(value);
+						break;
+					case "--seeds":
+						seeds = parseSeeds(value);
+						break;
+					case "--threads":
+						threads = Integer.parseInt(value);
+						break;
+					case "--tile-size":
+						tileSize = Integer.parseInt(value);
+						break;
+					case "--out":
+						out = Paths.get(value);
+						break;
+					case "--format":
+						format = value.toLowerCase();
+						break;
+					case "--scale":
+						scale = Integer.parseInt(value);
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option " + arg);
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid value for " + arg + ": " + value);
+			}
+		}
+		if (width < 1) {
+			throw new IllegalArgumentException("Width must be positive, got " + width);
+		}
+		if (height < 1) {
+			throw new IllegalArgumentException("Height must be positive, got " + height);
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Threads must be positive, got " + threads);
+		}
+		if (scale < 1) {
+			throw new IllegalArgumentException("Scale must be positive, got " + scale);
+		}
+		if (tileSize < 0) {
+			throw new IllegalArgumentException("Tile size cannot be negative, got " + tileSize);
+		}
+		if (!format.equals("txt") && !format.equals("bin") && !format.equals("png")
+				&& !format.equals("pbm")) {
+			throw new IllegalArgumentException("Unknown format, got " + format);
+		}
+	}
+
+	/**
+	 * Parses a seed range like 1..10, or a comma separated list of seeds. A range is not 
+	 * stored as a whole, its seeds are produced one at a time when they are generated.
+	 * @param value to parse
+	 * @return the seeds, which can be iterated once
+	 */
+	public static LongStream parseSeeds(String value) {
+		int range = value.indexOf("..");
+		if (range >= 0) {
+			long first = Long.parseLong(value.substring(0, range).trim());
+			long last = Long.parseLong(value.substring(range + 2).trim());
+			if (last < first) {
+				throw new IllegalArgumentException("Invalid seed range " + value);
+			}
+			return LongStream.rangeClosed(first, last);
+		}
+		String[] parts = value.split(",");
+		long[] seeds = new long[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			seeds[i] = Long.parseLong(parts[i].trim());
+		}
+		return LongStream.of(seeds);
+	}
+
+	/**
+	 * Generates and writes a maze for every seed, on a pool of the given number of threads.
+	 * The parallel generators split their work on the same pool instead of the common pool.
+	 * At most two mazes per thread are in memory at a time. A seed of 0 is replaced by a 
+	 * random seed, which is the one put in the file name and the header, so the maze can be 
+	 * made again.
+	 * @return exit code, 0 if every maze was written and 1 otherwise
+	 */
+	public int generate() {
+		try {
+			Files.createDirectories(out);
+		} catch (IOException e) {
+			System.err.println("Could not create output directory " + out + ": " + e);
+			return 1;
+		}
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		int maxInFlight = 2 * threads;
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		AtomicInteger failed = new AtomicInteger();
+		long submitted = 0;
+		Random random = new Random();
+		long start = System.currentTimeMillis();
+		try (MazeService service = new MazeService(pool)) {
+			PrimitiveIterator.OfLong iterator = seeds.iterator();
+			while (iterator.hasNext()) {
+				long seed = iterator.next();
+				if (seed == 0) {
+					// Otherwise the generator picks a seed which the file would not record
+					seed = Math.max(1, random.nextLong() >>> 1);
+				}
+				inFlight.acquireUninterruptibly();
+				submitted++;
+				MazeSpec spec = new MazeSpec(type, width, height, seed, tileSize, new MazeType[0],
+											 pool);
+				Path file = out.resolve(fileName(spec));
+				service.generate(spec).thenApply(new Function<Maze, Path>() {
+					@Override
+					public Path apply(Maze maze) {
+						write(maze, spec, file);
+						return file;
+					}
+				}).whenComplete(new BiConsumer<Path, Throwable>() {
+					@Override
+					public void accept(Path path, Throwable error) {
+						inFlight.release();
+						if (error != null) {
+							failed.incrementAndGet();
+							System.err.println("Failed " + spec + ": " + error);
+						}
+					}
+				});
+			}
+			// Every maze gives back its permit when it is done, failed or not
+			inFlight.acquireUninterruptibly(maxInFlight);
+		} finally {
+			pool.shutdown();
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		System.out.println("Wrote " + (submitted - failed.get()) + " of " + submitted 
+				+ " mazes to " + out + " in " + elapsed + "ms");
+		return failed.get() == 0 ? 0 : 1;
+	}
+
+	private String fileName(MazeSpec spec) {
+		String name = type.name().toLowerCase() + "_" + width + "x" + height + "_" + spec.getSeed();
+		return name + "." + format;
+	}
+
+	private void write(Maze maze, MazeSpec spec, Path file) {
+		try {
+			switch (format) {
+				case "bin":
+					MazeBinaryWriter.write(maze, spec.getType(), spec.getSeed(), file);
+					break;
+				case "png":
+					try (OutputStream stream = new BufferedOutputStream(
+							Files.newOutputStream(file), 1 << 16)) {
+						MazePngWriter.write(maze, scale, stream);
+					}
+					break;
+				case "pbm":
+					try (OutputStream stream = new BufferedOutputStream(
+							Files.newOutputStream(file), 1 << 16)) {
+						MazePbmWriter.write(maze, scale, stream);
+					}
+					break;
+				default:
+					try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+						MazeTextWriter.write(maze, writer);
+					}
+					break;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
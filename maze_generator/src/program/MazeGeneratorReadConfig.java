@@ -4,6 +4,8 @@ import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.Properties;
 
+import solver.SolverType;
+
 public class MazeGeneratorReadConfig {
 
 	private String propFileName;
@@ -67,6 +69,37 @@ public class MazeGeneratorReadConfig {
 		return mazeType;
 	}
 	
+	/**
+	 * Fetches the solver type from the config file and converts it as a SolverType
+	 * enumerator. BFS is used if the config file does not set a solver.
+	 * @return SolverType solverType
+	 */
+	public SolverType getSolverType() {
+		String type = get("solver");
+		if (type == null || type.trim().isEmpty()) {
+			return SolverType.BFS;
+		}
+		return SolverType.parseString(type);
+	}
+	
+	/**
+	 * Fetches a comma separated list of maze types from the config file.
+	 * @param key, indicating which variable in the config file to fetch.
+	 * @return array of MazeType, empty if the value is missing or blank
+	 */
+	public MazeType[] getMazeTypes(String key) {
+		String value = get(key);
+		if (value == null || value.trim().isEmpty()) {
+			return new MazeType[0];
+		}
+		String[] types = value.split(",");
+		MazeType[] mazeTypes = new MazeType[types.length];
+		for (int i = 0; i < types.length; i++) {
+			mazeTypes[i] = MazeType.parseString(types[i]);
+		}
+		return mazeTypes;
+	}
+	
 	/**
 	 * Fetches the value from the config file, and treating it as a long.
 	 * If the integer value is negative, 0 is returned.
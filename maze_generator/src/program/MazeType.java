@@ -6,10 +6,35 @@ public enum MazeType {
 		public String toString() {
 			return "Prim";
 		}
+	},
+	ELLER {
+		public String toString() {
+			return "Eller";
+		}
+	},
+	BINARY_TREE {
+		public String toString() {
+			return "Binary Tree";
+		}
+	},
+	SIDEWINDER {
+		public String toString() {
+			return "Sidewinder";
+		}
+	},
+	KRUSKAL {
+		public String toString() {
+			return "Kruskal";
+		}
+	},
+	WILSON {
+		public String toString() {
+			return "Wilson";
+		}
 	};
 	
 	public static MazeType parseString(String type) {
-		type = type.toUpperCase();
+		type = type.trim().toUpperCase().replace(' ', '_').replace('-', '_');
 		MazeType mazeType = MazeType.DFS;
 		try {
 			mazeType = MazeType.valueOf(type);
@@ -0,0 +1,108 @@
+package solver;
+
+import datatypes.IntQueue;
+import datatypes.Maze;
+
+public class AStarSolver extends MazeSolver {
+
+	// Set in the from array for cells which are queued but not expanded yet, together with
+	// the second bit of the priority they were queued with, which tells the two queues apart
+	private static final int OPEN = 8;
+	private static final int BUCKET = 16;
+	private static final int DIRECTION_MASK = 7;
+
+	/**
+	 * Constructs an A* solver, which always expands the cell with the smallest known distance
+	 * from the start plus the Manhattan distance to the goal. The Manhattan distance never
+	 * overestimates the remaining distance in a grid, so the path found is a shortest one.
+	 * Every step changes the distance from the start by one and the Manhattan distance by
+	 * one, so the priority of a neighbour is either the same as that of the cell or two more.
+	 * The open cells therefore only ever have two priorities, and two queues take the place
+	 * of a heap, with only one byte per cell besides them.
+	 * @param maze to solve
+	 */
+	public AStarSolver(Maze maze) {
+		super(maze);
+	}
+
+	@Override
+	public int[] solve(int start, int goal) {
+		checkCell(start);
+		checkCell(goal);
+		int goalX = goal % width;
+		int goalY = goal / width;
+		byte[] from = new byte[cellCount];
+		IntQueue current = new IntQueue();
+		IntQueue next = new IntQueue();
+		int priority = heuristic(start, goalX, goalY);
+		from[start] = (byte) (OPEN | bucketBit(priority) | ROOT);
+		current.add(start);
+		visitedCount = 0;
+		while (!current.isEmpty() || !next.isEmpty()) {
+			if (current.isEmpty()) {
+				IntQueue swap = current;
+				current = next;
+				next = swap;
+				priority += 2;
+			}
+			int cell = current.remove();
+			int value = from[cell];
+			if ((value & OPEN) == 0) {
+				// Expanded already, after it was queued again with a lower priority
+				continue;
+			}
+			from[cell] = (byte) (value & DIRECTION_MASK);
+			visitedCount++;
+			if (cell == goal) {
+				return tracePath(from, goal);
+			}
+			int towards = towardsGoal(cell, goalX, goalY);
+			int open = maze.openDirections(cell);
+			while (open != 0) {
+				int dir = Integer.numberOfTrailingZeros(open);
+				open &= open - 1;
+				int neighbour = move(cell, dir);
+				int old = from[neighbour];
+				// Moving towards the goal keeps the priority, moving away raises it by two
+				boolean closer = (towards & (1 << dir)) != 0;
+				if (old == UNSEEN
+						|| (closer && (old & OPEN) != 0 && (old & BUCKET) != bucketBit(priority))) {
+					int queued = closer ? priority : priority + 2;
+					from[neighbour] = (byte) (OPEN | bucketBit(queued) 
+											  | (Maze.opposite(dir) + 1));
+					(closer ? current : next).add(neighbour);
+				}
+			}
+		}
+		return null;
+	}
+
+	private int heuristic(int cell, int goalX, int goalY) {
+		return Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+	}
+
+	/**
+	 * Returns the directions in which a step from the given cell gets closer to the goal.
+	 */
+	private int towardsGoal(int cell, int goalX, int goalY) {
+		int x = cell % width;
+		int y = cell / width;
+		int towards = 0;
+		if (x > goalX) {
+			towards |= 1 << Maze.WEST;
+		} else if (x < goalX) {
+			towards |= 1 << Maze.EAST;
+		}
+		if (y > goalY) {
+			towards |= 1 << Maze.NORTH;
+		} else if (y < goalY) {
+			towards |= 1 << Maze.SOUTH;
+		}
+		return towards;
+	}
+
+	private static int bucketBit(int priority) {
+		return (priority & 2) != 0 ? BUCKET : 0;
+	}
+
+}
@@ -0,0 +1,134 @@
+package solver;
+
+import java.util.Arrays;
+
+import datatypes.IntQueue;
+import datatypes.Maze;
+
+public class BFSSolver extends MazeSolver {
+
+	private int farthestDistance = -1;
+
+	/**
+	 * Constructs a breadth first search solver. It reaches the cells in order of their
+	 * distance from the start, so the first time it reaches the goal it has found a shortest
+	 * path. Every cell keeps the direction back to the cell it was reached from, one byte per
+	 * cell, and the queue only holds the current frontier.
+	 * @param maze to solve
+	 */
+	public BFSSolver(Maze maze) {
+		super(maze);
+	}
+
+	/**
+	 * Returns the distance from the source to the cell found by the last call to 
+	 * farthestCell.
+	 * @return distance in steps, -1 if farthestCell has not been called
+	 */
+	public int getFarthestDistance() {
+		return farthestDistance;
+	}
+
+	@Override
+	public int[] solve(int start, int goal) {
+		checkCell(start);
+		checkCell(goal);
+		byte[] from = new byte[cellCount];
+		from[start] = ROOT;
+		visitedCount = 1;
+		if (start == goal) {
+			return tracePath(from, goal);
+		}
+		IntQueue queue = new IntQueue();
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			int cell = queue.remove();
+			int open = maze.openDirections(cell);
+			while (open != 0) {
+				int dir = Integer.numberOfTrailingZeros(open);
+				open &= open - 1;
+				int next = move(cell, dir);
+				if (from[next] != UNSEEN) {
+					continue;
+				}
+				from[next] = (byte) (Maze.opposite(dir) + 1);
+				visitedCount++;
+				if (next == goal) {
+					return tracePath(from, goal);
+				}
+				queue.add(next);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds a cell which is as far as possible from the source, which is the last cell reached
+	 * by a breadth first search from the source. The search goes one level at a time to count
+	 * the distance, and only keeps one bit per cell for the cells it has reached.
+	 * @param source cell id the search starts from
+	 * @return cell id of a cell farthest from the source, its distance is returned by
+	 * 		   getFarthestDistance
+	 */
+	public int farthestCell(int source) {
+		checkCell(source);
+		long[] seen = new long[(cellCount + 63) >>> 6];
+		seen[source >>> 6] |= 1L << source;
+		visitedCount = 1;
+		IntQueue queue = new IntQueue();
+		queue.add(source);
+		int last = source;
+		int depth = -1;
+		while (!queue.isEmpty()) {
+			depth++;
+			for (int level = queue.size(); level > 0; level--) {
+				int cell = queue.remove();
+				last = cell;
+				int open = maze.openDirections(cell);
+				while (open != 0) {
+					int next = move(cell, Integer.numberOfTrailingZeros(open));
+					open &= open - 1;
+					if ((seen[next >>> 6] & (1L << next)) == 0) {
+						seen[next >>> 6] |= 1L << next;
+						visitedCount++;
+						queue.add(next);
+					}
+				}
+			}
+		}
+		farthestDistance = depth;
+		return last;
+	}
+
+	/**
+	 * Finds the distance from the source to every cell of the maze.
+	 * @param source cell id the distances are measured from
+	 * @return distance in steps from the source for every cell id, -1 for the cells which
+	 * 		   cannot be reached
+	 */
+	public int[] distances(int source) {
+		checkCell(source);
+		int[] distance = new int[cellCount];
+		Arrays.fill(distance, -1);
+		distance[source] = 0;
+		visitedCount = 1;
+		IntQueue queue = new IntQueue();
+		queue.add(source);
+		while (!queue.isEmpty()) {
+			int cell = queue.remove();
+			int open = maze.openDirections(cell);
+			while (open != 0) {
+				int dir = Integer.numberOfTrailingZeros(open);
+				open &= open - 1;
+				int next = move(cell, dir);
+				if (distance[next] < 0) {
+					distance[next] = distance[cell] + 1;
+					visitedCount++;
+					queue.add(next);
+				}
+			}
+		}
+		return distance;
+	}
+
+}
@@ -0,0 +1,89 @@
+package solver;
+
+import datatypes.IntQueue;
+import datatypes.Maze;
+
+public class BidirectionalBFSSolver extends MazeSolver {
+
+	// Set in the from array for cells reached from the goal, the low 3 bits hold the direction
+	private static final int BACKWARD = 8;
+	private static final int DIRECTION_MASK = 7;
+
+	/**
+	 * Constructs a solver which runs a breadth first search from both the start and the goal,
+	 * one whole level at a time from whichever side has the smaller frontier, until the two
+	 * searches meet. Each search only has to go about half the distance, so far fewer cells
+	 * are reached than by a single search when the maze branches a lot.
+	 * @param maze to solve
+	 */
+	public BidirectionalBFSSolver(Maze maze) {
+		super(maze);
+	}
+
+	@Override
+	public int[] solve(int start, int goal) {
+		checkCell(start);
+		checkCell(goal);
+		byte[] from = new byte[cellCount];
+		from[start] = ROOT;
+		visitedCount = 1;
+		if (start == goal) {
+			return new int[] {start};
+		}
+		from[goal] = ROOT | BACKWARD;
+		visitedCount++;
+		IntQueue forward = new IntQueue();
+		IntQueue backward = new IntQueue();
+		forward.add(start);
+		backward.add(goal);
+		int forwardDepth = 0;
+		int backwardDepth = 0;
+		int bestForward = -1, bestBackward = -1;
+		long bestLength = Long.MAX_VALUE;
+		while (!forward.isEmpty() && !backward.isEmpty()) {
+			boolean isForward = forward.size() <= backward.size();
+			IntQueue queue = isForward ? forward : backward;
+			int side = isForward ? 0 : BACKWARD;
+			int depth = isForward ? forwardDepth : backwardDepth;
+			for (int level = queue.size(); level > 0; level--) {
+				int cell = queue.remove();
+				int open = maze.openDirections(cell);
+				while (open != 0) {
+					int dir = Integer.numberOfTrailingZeros(open);
+					open &= open - 1;
+					int next = move(cell, dir);
+					int value = from[next];
+					if (value == UNSEEN) {
+						from[next] = (byte) ((Maze.opposite(dir) + 1) | side);
+						visitedCount++;
+						queue.add(next);
+					} else if ((value & BACKWARD) != side) {
+						// The searches meet between cell and next, but the cell on the other
+						// side may be closer to its root than its frontier, so every meeting
+						// in this level is measured and the shortest one is kept
+						long length = depth + 1L + depth(from, DIRECTION_MASK, next);
+						if (length < bestLength) {
+							bestLength = length;
+							bestForward = isForward ? cell : next;
+							bestBackward = isForward ? next : cell;
+						}
+					}
+				}
+			}
+			if (isForward) {
+				forwardDepth++;
+			} else {
+				backwardDepth++;
+			}
+			if (bestForward >= 0) {
+				int[] path = new int[(int) bestLength + 1];
+				int split = depth(from, DIRECTION_MASK, bestForward);
+				trace(from, DIRECTION_MASK, bestForward, path, split, -1);
+				trace(from, DIRECTION_MASK, bestBackward, path, split + 1, 1);
+				return path;
+			}
+		}
+		return null;
+	}
+
+}
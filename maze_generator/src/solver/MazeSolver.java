@@ -0,0 +1,142 @@
+package solver;
+
+import datatypes.Maze;
+
+public abstract class MazeSolver {
+
+	/** Value in the from array of a cell which has not been reached */
+	protected static final byte UNSEEN = 0;
+	/** Value in the from array of the cell a search started from */
+	protected static final byte ROOT = 5;
+
+	protected final Maze maze;
+	protected final int width;
+	protected final int cellCount;
+	protected long visitedCount = 0;
+
+	/**
+	 * Constructs a solver finding shortest paths between cells of the given maze. The solvers
+	 * work on cell ids and read the walls straight from the maze, keeping their state in
+	 * primitive arrays, so no Node or Wall objects are created while solving. The maze must
+	 * not change while it is being solved.
+	 * @param maze to solve
+	 */
+	public MazeSolver(Maze maze) {
+		this.maze = maze;
+		this.width = maze.getWidth();
+		this.cellCount = maze.getCellCount();
+	}
+
+	/**
+	 * Finds a shortest path between the given cells.
+	 * @param start cell id where the path starts
+	 * @param goal cell id where the path ends
+	 * @return cell ids of the path in order from start to goal, both included, or null if
+	 * 		   there is no path between them
+	 */
+	public abstract int[] solve(int start, int goal);
+
+	/**
+	 * Finds a shortest path between the nodes at (x1, y1) and (x2, y2).
+	 * @param x1 first coordinate of the start
+	 * @param y1 second coordinate of the start
+	 * @param x2 first coordinate of the goal
+	 * @param y2 second coordinate of the goal
+	 * @return cell ids of the path in order from start to goal, or null if there is no path
+	 */
+	public int[] solve(int x1, int y1, int x2, int y2) {
+		return solve(maze.cellId(x1, y1), maze.cellId(x2, y2));
+	}
+
+	/**
+	 * Returns the number of cells the last search reached before it found the goal, which
+	 * tells how much of the maze a solver has to look at, not just how long the path is.
+	 * @return number of cells reached by the last call to solve
+	 */
+	public long getVisitedCount() {
+		return visitedCount;
+	}
+
+	/**
+	 * Checks that the cell id is inside the maze.
+	 * @param cell id
+	 */
+	protected void checkCell(int cell) {
+		if (cell < 0 || cell >= cellCount) {
+			throw new IllegalArgumentException("Cell outside the maze, got " + cell);
+		}
+	}
+
+	/**
+	 * Returns the cell next to the given cell in the given direction, without checking that
+	 * the neighbour is inside the maze.
+	 * @param cell id
+	 * @param dir one of Maze.WEST, EAST, NORTH and SOUTH
+	 * @return cell id of the neighbour
+	 */
+	protected int move(int cell, int dir) {
+		switch (dir) {
+			case Maze.WEST:
+				return cell - 1;
+			case Maze.EAST:
+				return cell + 1;
+			case Maze.NORTH:
+				return cell - width;
+			default:
+				return cell + width;
+		}
+	}
+
+	/**
+	 * Counts the steps from the given cell back to the root of its search, following the
+	 * directions in the from array, where from[cell] is 1 + the direction leading from the
+	 * cell towards the root.
+	 * @param from directions towards the root, masked with mask
+	 * @param mask applied to the values of from before they are read
+	 * @param cell to start counting from
+	 * @return number of steps to the root
+	 */
+	protected int depth(byte[] from, int mask, int cell) {
+		int steps = 0;
+		int value;
+		while ((value = from[cell] & mask) != ROOT) {
+			cell = move(cell, value - 1);
+			steps++;
+		}
+		return steps;
+	}
+
+	/**
+	 * Writes the cells from the given cell back to the root of its search into the path,
+	 * starting at index offset and going in the given direction through the array.
+	 * @param from directions towards the root, masked with mask
+	 * @param mask applied to the values of from before they are read
+	 * @param cell to start from
+	 * @param path receiving the cells
+	 * @param offset index of the first cell in the path
+	 * @param step +1 to write forwards, -1 to write backwards
+	 */
+	protected void trace(byte[] from, int mask, int cell, int[] path, int offset, int step) {
+		int i = offset;
+		path[i] = cell;
+		int value;
+		while ((value = from[cell] & mask) != ROOT) {
+			cell = move(cell, value - 1);
+			i += step;
+			path[i] = cell;
+		}
+	}
+
+	/**
+	 * Builds the path from the root of a search to the given goal.
+	 * @param from directions towards the root
+	 * @param goal cell where the path ends
+	 * @return cell ids from the root to the goal
+	 */
+	protected int[] tracePath(byte[] from, int goal) {
+		int[] path = new int[depth(from, 0xFF, goal) + 1];
+		trace(from, 0xFF, goal, path, path.length - 1, -1);
+		return path;
+	}
+
+}
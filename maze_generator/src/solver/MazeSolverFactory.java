@@ -0,0 +1,28 @@
+package solver;
+
+import datatypes.Maze;
+
+public class MazeSolverFactory {
+
+	/**
+	 * Creates a maze solver of the given type
+	 * @param type of solver, i.e. the search algorithm to use
+	 * @param maze to solve
+	 * @return A MazeSolver instance
+	 */
+	public static MazeSolver create(SolverType type, Maze maze) {
+		switch (type) {
+			case BFS:
+				return new BFSSolver(maze);
+			case BIDIRECTIONAL_BFS:
+				return new BidirectionalBFSSolver(maze);
+			case A_STAR:
+				return new AStarSolver(maze);
+			case PARALLEL_BFS:
+				return new ParallelBFSSolver(maze);
+			default:
+				throw new IllegalArgumentException("Invalid solver type: " + type);
+		}
+	}
+
+}
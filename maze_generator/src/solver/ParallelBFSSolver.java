@@ -0,0 +1,240 @@
+package solver;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import datatypes.Maze;
+
+public class ParallelBFSSolver extends MazeSolver {
+
+	// Default cells of the frontier expanded by one task, smaller levels run on one thread
+	private static final int TASK_CELLS = 4096;
+
+	private final ForkJoinPool pool;
+	private final int taskCells;
+
+	// State of the search in progress, shared by the tasks expanding a level
+	private AtomicLongArray visited;
+	private int[] distance;
+	private int[] frontier;
+	private int frontierSize;
+	private int[][] found = new int[0][];
+	private int[] foundCounts = new int[0];
+
+	/**
+	 * Constructs a parallel breadth first search solver running on the common ForkJoinPool.
+	 * @param maze to solve
+	 */
+	public ParallelBFSSolver(Maze maze) {
+		this(maze, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a breadth first search solver which expands one whole level of the search at
+	 * a time, with the frontier of the level split into chunks expanded in parallel on the
+	 * given pool. A cell is claimed by setting its bit in an atomic bitset, so every cell is
+	 * added to the next frontier by exactly one thread, and the cells found by the chunks are
+	 * joined in the order of the chunks. Every level is finished before the next one starts,
+	 * so the distances are exactly those of a sequential breadth first search.
+	 * @param maze to solve
+	 * @param pool running the chunks of each level
+	 */
+	public ParallelBFSSolver(Maze maze, ForkJoinPool pool) {
+		this(maze, pool, TASK_CELLS);
+	}
+
+	/**
+	 * Constructs a parallel breadth first search solver expanding the given number of cells
+	 * of the frontier in each task. Small chunks let small mazes be split as large ones are.
+	 * @param maze to solve
+	 * @param pool running the chunks of each level
+	 * @param taskCells cells of the frontier expanded by one task, at least 1
+	 */
+	ParallelBFSSolver(Maze maze, ForkJoinPool pool, int taskCells) {
+		super(maze);
+		if (taskCells < 1) {
+			throw new IllegalArgumentException("Task cells must be at least 1, got "
+					+ taskCells);
+		}
+		this.pool = pool;
+		this.taskCells = taskCells;
+		frontier = new int[taskCells];
+	}
+
+	@Override
+	public int[] solve(int start, int goal) {
+		checkCell(start);
+		checkCell(goal);
+		int[] distance = search(start, goal);
+		if (distance[goal] < 0) {
+			return null;
+		}
+		// Walk back from the goal, each step to a neighbour one step closer to the start
+		int[] path = new int[distance[goal] + 1];
+		int cell = goal;
+		for (int i = path.length - 1; i > 0; i--) {
+			path[i] = cell;
+			int open = maze.openDirections(cell);
+			while (open != 0) {
+				int next = move(cell, Integer.numberOfTrailingZeros(open));
+				open &= open - 1;
+				if (distance[next] == i - 1) {
+					cell = next;
+					break;
+				}
+			}
+		}
+		path[0] = cell;
+		return path;
+	}
+
+	/**
+	 * Finds the distance from the source to every cell of the maze. The result is the same as
+	 * that of BFSSolver.distances.
+	 * @param source cell id the distances are measured from
+	 * @return distance in steps from the source for every cell id, -1 for the cells which
+	 * 		   cannot be reached
+	 */
+	public int[] distances(int source) {
+		checkCell(source);
+		return search(source, -1);
+	}
+
+	/**
+	 * Runs the search level by level from the source until the goal is reached, or until
+	 * every reachable cell is reached if the goal is -1.
+	 */
+	private int[] search(int source, int goal) {
+		distance = new int[cellCount];
+		Arrays.fill(distance, -1);
+		visited = new AtomicLongArray((cellCount + 63) >>> 6);
+		claim(source);
+		distance[source] = 0;
+		visitedCount = 1;
+		frontier[0] = source;
+		frontierSize = 1;
+		int level = 0;
+		while (frontierSize > 0 && (goal < 0 || distance[goal] < 0)) {
+			int chunks = (frontierSize + taskCells - 1) / taskCells;
+			prepareChunks(chunks);
+			if (chunks == 1) {
+				expand(0, level + 1);
+			} else {
+				pool.invoke(new LevelTask(0, chunks, level + 1));
+			}
+			joinChunks(chunks);
+			level++;
+		}
+		int[] result = distance;
+		distance = null;
+		visited = null;
+		return result;
+	}
+
+	/**
+	 * Makes sure there is a buffer for the cells found by each chunk. Every cell of a chunk
+	 * reaches at most four new cells.
+	 */
+	private void prepareChunks(int chunks) {
+		if (found.length < chunks) {
+			found = Arrays.copyOf(found, Math.max(chunks, 2 * found.length));
+			foundCounts = new int[found.length];
+		}
+		for (int i = 0; i < chunks; i++) {
+			if (found[i] == null) {
+				found[i] = new int[4 * taskCells];
+			}
+		}
+	}
+
+	/**
+	 * Makes the cells found by the chunks the next frontier, in the order of the chunks.
+	 */
+	private void joinChunks(int chunks) {
+		int size = 0;
+		for (int i = 0; i < chunks; i++) {
+			size += foundCounts[i];
+		}
+		if (frontier.length < size) {
+			frontier = new int[Math.max(size, 2 * frontier.length)];
+		}
+		int offset = 0;
+		for (int i = 0; i < chunks; i++) {
+			System.arraycopy(found[i], 0, frontier, offset, foundCounts[i]);
+			offset += foundCounts[i];
+		}
+		frontierSize = size;
+		visitedCount += size;
+	}
+
+	/**
+	 * Expands one chunk of the frontier, claiming the unvisited neighbours of its cells.
+	 */
+	private void expand(int chunk, int nextLevel) {
+		int from = chunk * taskCells;
+		int to = Math.min(frontierSize, from + taskCells);
+		int[] out = found[chunk];
+		int count = 0;
+		for (int i = from; i < to; i++) {
+			int cell = frontier[i];
+			int open = maze.openDirections(cell);
+			while (open != 0) {
+				int next = move(cell, Integer.numberOfTrailingZeros(open));
+				open &= open - 1;
+				if (claim(next)) {
+					distance[next] = nextLevel;
+					out[count++] = next;
+				}
+			}
+		}
+		foundCounts[chunk] = count;
+	}
+
+	/**
+	 * Sets the visited bit of the cell.
+	 * @return true if this call set the bit, false if the cell was visited already
+	 */
+	private boolean claim(int cell) {
+		int i = cell >>> 6;
+		long bit = 1L << cell;
+		long word = visited.get(i);
+		while ((word & bit) == 0) {
+			long witness = visited.compareAndExchange(i, word, word | bit);
+			if (witness == word) {
+				return true;
+			}
+			word = witness;
+		}
+		return false;
+	}
+
+	/**
+	 * Expands a range of chunks of the frontier.
+	 */
+	private class LevelTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final int fromChunk, toChunk, nextLevel;
+
+		LevelTask(int fromChunk, int toChunk, int nextLevel) {
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+			this.nextLevel = nextLevel;
+		}
+
+		@Override
+		protected void compute() {
+			if (toChunk - fromChunk > 1) {
+				int mid = (fromChunk + toChunk) >>> 1;
+				invokeAll(new LevelTask(fromChunk, mid, nextLevel),
+						  new LevelTask(mid, toChunk, nextLevel));
+				return;
+			}
+			expand(fromChunk, nextLevel);
+		}
+
+	}
+
+}
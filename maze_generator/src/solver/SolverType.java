@@ -0,0 +1,35 @@
+package solver;
+
+public enum SolverType {
+	BFS,
+	BIDIRECTIONAL_BFS {
+		public String toString() {
+			return "Bidirectional BFS";
+		}
+	},
+	A_STAR {
+		public String toString() {
+			return "A*";
+		}
+	},
+	PARALLEL_BFS {
+		public String toString() {
+			return "Parallel BFS";
+		}
+	};
+	
+	public static SolverType parseString(String type) {
+		type = type.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+		if (type.equals("A*") || type.equals("ASTAR")) {
+			return SolverType.A_STAR;
+		}
+		SolverType solverType = SolverType.BFS;
+		try {
+			solverType = SolverType.valueOf(type);
+		} catch (IllegalArgumentException e) {
+			System.err.println("Illegal solver type!");
+			e.printStackTrace();
+		}
+		return solverType;
+	}
+}
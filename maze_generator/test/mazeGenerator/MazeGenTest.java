@@ -0,0 +1,87 @@
+package mazeGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import datatypes.Maze;
+import program.MazeType;
+import solver.BFSSolver;
+
+public class MazeGenTest {
+
+	// The heights cover a part of a band, and several bands of Maze.CONCURRENT_BAND_ROWS rows
+	private static final int[][] SIZES = {{2, 2}, {37, 23}, {150, 140}};
+	private static final int[] POOL_SIZES = {1, 3};
+	private static final long[] SEEDS = {1, 8855};
+	private static final MazeType[] NO_TILE_TYPES = new MazeType[0];
+
+	/**
+	 * Every maze type must give a perfect maze, on every pool the parallel generators may
+	 * split their work on.
+	 */
+	@Test
+	public void everyMazeTypeIsPerfect() throws InterruptedException {
+		for (MazeType type : MazeType.values()) {
+			for (int[] size : SIZES) {
+				for (long seed : SEEDS) {
+					for (int poolSize : POOL_SIZES) {
+						ForkJoinPool pool = new ForkJoinPool(poolSize);
+						assertPerfect(new MazeSpec(type, size[0], size[1], seed, 0,
+												   NO_TILE_TYPES, pool));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Joining the tiles must give a perfect maze, also when the tiles do not fit the maze
+	 * evenly and when they mix maze types.
+	 */
+	@Test
+	public void tiledMazeIsPerfect() throws InterruptedException {
+		MazeType[] mixed = MazeType.values();
+		for (int tileSize : new int[] {1, 16, 50}) {
+			for (long seed : SEEDS) {
+				for (int poolSize : POOL_SIZES) {
+					assertPerfect(new MazeSpec(MazeType.KRUSKAL, 150, 140, seed, tileSize,
+											   NO_TILE_TYPES, new ForkJoinPool(poolSize)));
+					assertPerfect(new MazeSpec(MazeType.DFS, 150, 140, seed, tileSize, mixed,
+											   new ForkJoinPool(poolSize)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates the maze of the spec and asserts that it is perfect, which is to say that it
+	 * has one passage less than it has cells and that every cell can be reached. Such a maze
+	 * has no loops, so there is exactly one path between any two cells. The pool of the spec
+	 * is shut down afterwards.
+	 */
+	private static void assertPerfect(MazeSpec spec) throws InterruptedException {
+		try {
+			MazeGen gen = spec.createGenerator();
+			gen.generate(null);
+			Maze maze = gen.getMaze();
+			long passages = 0;
+			int eastOrSouth = (1 << Maze.EAST) | (1 << Maze.SOUTH);
+			for (int cell = 0; cell < maze.getCellCount(); cell++) {
+				passages += Integer.bitCount(maze.openDirections(cell) & eastOrSouth);
+			}
+			String name = spec + " on " + spec.getPool().getParallelism() + " threads";
+			assertEquals(maze.getCellCount() - 1, passages, "passages of " + name);
+			int[] distance = new BFSSolver(maze).distances(0);
+			for (int cell = 0; cell < distance.length; cell++) {
+				assertTrue(distance[cell] >= 0, "cell " + cell + " unreachable in " + name);
+			}
+		} finally {
+			spec.getPool().shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import datatypes.Maze;
+import mazeGenerator.MazeGen;
+import mazeGenerator.MazeGenFactory;
+import program.MazeType;
+
+public class ParallelBFSSolverTest {
+
+	private static final int[] POOL_SIZES = {1, 2, 4};
+	// Chunks small enough that even the levels of a small maze are split over several tasks
+	private static final int[] TASK_CELLS = {1, 7, 64};
+	private static final long[] SEEDS = {1, 8855};
+
+	/**
+	 * The distances of the parallel search must be exactly those of the sequential one, for
+	 * every maze type, pool size and chunk size.
+	 */
+	@Test
+	public void distancesMatchBFSForEveryMazeType() throws InterruptedException {
+		for (MazeType type : MazeType.values()) {
+			for (long seed : SEEDS) {
+				MazeGen gen = MazeGenFactory.create(type, 90, 70, null, seed, false, 0);
+				gen.generate(null);
+				assertDistancesMatch(gen.getMaze(), type + " seed " + seed);
+			}
+		}
+	}
+
+	/**
+	 * A maze without walls has many paths of the same length to a cell, so the chunks of a
+	 * level race to claim the same cells.
+	 */
+	@Test
+	public void distancesMatchBFSWithoutWalls() {
+		assertDistancesMatch(new Maze(83, 61), "no walls");
+	}
+
+	/**
+	 * The path found by the parallel search must be a shortest path through open walls.
+	 */
+	@Test
+	public void solveFindsShortestPath() throws InterruptedException {
+		MazeGen gen = MazeGenFactory.create(MazeType.KRUSKAL, 90, 70, null, 8855, false, 0);
+		gen.generate(null);
+		Maze maze = gen.getMaze();
+		int goal = maze.getCellCount() - 1;
+		int[] expected = new BFSSolver(maze).solve(0, goal);
+		for (int poolSize : POOL_SIZES) {
+			ForkJoinPool pool = new ForkJoinPool(poolSize);
+			try {
+				int[] path = new ParallelBFSSolver(maze, pool, 7).solve(0, goal);
+				assertEquals(expected.length, path.length, "pool size " + poolSize);
+				assertEquals(0, path[0]);
+				assertEquals(goal, path[path.length - 1]);
+				for (int i = 1; i < path.length; i++) {
+					assertEquals(1, Math.abs(maze.cellX(path[i]) - maze.cellX(path[i - 1]))
+									+ Math.abs(maze.cellY(path[i]) - maze.cellY(path[i - 1])),
+								 "step " + i + " with pool size " + poolSize);
+					assertOpen(maze, path[i - 1], path[i]);
+				}
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Compares the distances from a few sources with those of BFSSolver for every pool size
+	 * and chunk size, and with the default chunk size.
+	 */
+	private static void assertDistancesMatch(Maze maze, String name) {
+		int[] sources = {0, maze.cellId(maze.getWidth() / 2, maze.getHeight() / 2),
+						 maze.getCellCount() - 1};
+		for (int source : sources) {
+			int[] expected = new BFSSolver(maze).distances(source);
+			for (int poolSize : POOL_SIZES) {
+				ForkJoinPool pool = new ForkJoinPool(poolSize);
+				try {
+					int[] distance = new ParallelBFSSolver(maze, pool).distances(source);
+					String where = name + " from " + source + " with pool size " + poolSize;
+					assertArrayEquals(expected, distance, where);
+					for (int cells : TASK_CELLS) {
+						ParallelBFSSolver solver = new ParallelBFSSolver(maze, pool, cells);
+						distance = solver.distances(source);
+						assertArrayEquals(expected, distance,
+										  where + " and " + cells + " cells per task");
+					}
+				} finally {
+					pool.shutdown();
+				}
+			}
+		}
+	}
+
+	private static void assertOpen(Maze maze, int from, int to) {
+		int open = maze.openDirections(from);
+		boolean found = false;
+		while (open != 0) {
+			int dir = Integer.numberOfTrailingZeros(open);
+			open &= open - 1;
+			found |= maze.neighbour(from, dir) == to;
+		}
+		assertTrue(found, "no passage from " + from + " to " + to);
+	}
+
+}